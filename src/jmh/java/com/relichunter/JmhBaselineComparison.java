@@ -0,0 +1,140 @@
+// Filename: RelicHunter/src/jmh/java/com/relichunter/JmhBaselineComparison.java
+package com.relichunter;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a saved baseline: {@code JmhBaselineComparison <baseline> <results> [tolerance%]}.
+ * <p>
+ * For every benchmark and parameter combination in both files it prints the time per operation and the
+ * allocation per operation ({@code -prof gc}) side by side. Exits with status 1 if either got worse by more
+ * than the tolerance (default 10%); a time regression only counts when it is also outside the two error margins.
+ * Exits with status 2 if there is no baseline.
+ */
+public final class JmhBaselineComparison {
+
+    private static final double DEFAULT_TOLERANCE_PERCENT = 10;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Allocation differences below this many bytes per operation are noise (e.g. TLAB accounting)
+    private static final double ALLOCATION_NOISE_BYTES = 16;
+
+    private JmhBaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: JmhBaselineComparison <baseline.json> <results.json> [tolerance%]");
+        }
+        Path baselinePath = Paths.get(args[0]);
+        if (!Files.exists(baselinePath)) {
+            // Nothing to compare against is a failure, not a pass
+            System.err.println("No baseline at " + baselinePath + "; save one with ./gradlew jmh jmhSaveBaseline");
+            System.exit(2);
+        }
+        double tolerance = (args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE_PERCENT) / 100;
+        Map<String, Result> baseline = read(baselinePath);
+        Map<String, Result> current = read(Paths.get(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-70s %14s %14s %8s %12s %12s%n", "Benchmark", "Baseline", "Current", "Time", "Base B/op", "Cur B/op");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-70s %14s %14s%n", entry.getKey(), "(new)", format(now.score, now.unit));
+                continue;
+            }
+            if (!before.unit.equals(now.unit)) {
+                System.out.printf("%-70s units differ (%s vs %s), not compared%n", entry.getKey(), before.unit, now.unit);
+                continue;
+            }
+            double change = now.score / before.score - 1;
+            boolean slower = change > tolerance && now.score - now.error > before.score + before.error;
+            boolean allocates = now.allocation - before.allocation > Math.max(ALLOCATION_NOISE_BYTES, before.allocation * tolerance);
+            String flag = slower || allocates ? "  << REGRESSION" : "";
+            if (!flag.isEmpty()) {
+                regressions++;
+            }
+            System.out.printf("%-70s %14s %14s %+7.1f%% %12.0f %12.0f%s%n", entry.getKey(),
+                    format(before.score, before.unit), format(now.score, now.unit), change * 100,
+                    before.allocation, now.allocation, flag);
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf("%-70s not in the current results%n", missing);
+            }
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(Path path) throws IOException {
+        JsonArray runs;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            runs = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonElement element : runs) {
+            JsonObject run = element.getAsJsonObject();
+            String name = run.get("benchmark").getAsString().replace("com.relichunter.", "");
+            if (run.has("params")) {
+                Map<String, String> params = new TreeMap<>();
+                for (Map.Entry<String, JsonElement> param : run.getAsJsonObject("params").entrySet()) {
+                    params.put(param.getKey(), param.getValue().getAsString());
+                }
+                name += params;
+            }
+            JsonObject primary = run.getAsJsonObject("primaryMetric");
+            double allocation = 0;
+            if (run.has("secondaryMetrics")) {
+                for (Map.Entry<String, JsonElement> metric : run.getAsJsonObject("secondaryMetrics").entrySet()) {
+                    // Older JMH versions prefix the profiler metrics with a middle dot
+                    if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+                        allocation = metric.getValue().getAsJsonObject().get("score").getAsDouble();
+                    }
+                }
+            }
+            // "NaN" when there were too few iterations to compute an error
+            double error = primary.get("scoreError").getAsDouble();
+            if (Double.isNaN(error)) {
+                error = 0;
+            }
+            results.put(name, new Result(primary.get("score").getAsDouble(), error, primary.get("scoreUnit").getAsString(), allocation));
+        }
+        return results;
+    }
+
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+
+    private static final class Result {
+        final double score;
+        final double error;
+        final String unit;
+        final double allocation;
+
+        Result(double score, double error, String unit, double allocation) {
+            this.score = score;
+            this.error = error;
+            this.unit = unit;
+            this.allocation = allocation;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+// Filename: RelicHunter/src/jmh/java/com/relichunter/QuestNameBenchmark.java
+package com.relichunter;
+
+import com.relichunter.unlock.UnlockIndex;
+import net.runelite.api.Quest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving every row of a full quest list to its quest unlock ordinal, as QuestListRestrictor does when
+ * the list is rebuilt: name lookup, then ordinal lookup. Includes the header rows that are not quests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestNameBenchmark {
+
+    private static final int NOT_A_QUEST = -2;
+
+    private UnlockIndex index;
+    private String[] rowTexts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = UnlockIndex.build(SyntheticUnlockDatabase.generate(10_000, 1L).getUnlocks());
+        List<String> rows = new ArrayList<>();
+        rows.add("Free Quests");
+        rows.add("Members' Quests");
+        rows.add("Miniquests");
+        for (Quest quest : Quest.values()) {
+            rows.add(quest.getName());
+        }
+        rowTexts = rows.toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void resolveQuestRows(Blackhole blackhole) {
+        for (String text : rowTexts) {
+            Quest quest = QuestListRestrictor.findQuest(text);
+            blackhole.consume(quest != null ? index.getQuestUnlockOrdinal(quest) : NOT_A_QUEST);
+        }
+    }
+}
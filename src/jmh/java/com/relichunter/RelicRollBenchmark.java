@@ -0,0 +1,66 @@
+// Filename: RelicHunter/src/jmh/java/com/relichunter/RelicRollBenchmark.java
+package com.relichunter;
+
+import com.relichunter.sim.SimulationSettings;
+import net.runelite.api.Skill;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-event roll paths: the weighted tier roll on its own, and a whole XP drop decision.
+ * Uses the default config values.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RelicRollBenchmark {
+
+    // A spread of XP drop sizes, from too small for any relic to Grandmaster-eligible
+    private static final int[] XP_DROPS = {5, 25, 60, 150, 400, 1200, 3000, 12000};
+    private static final int AVAILABLE_UNLOCKS = 50;
+    private static final SkillTier[] CAPS = {SkillTier.APPRENTICE, SkillTier.EXPERT, SkillTier.GRANDMASTER};
+
+    private TierRoller tierRoller;
+    private RelicDropEngine dropEngine;
+    private SplittableRandom random;
+    private int xpDropIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        RelicHunterSettings settings = SimulationSettings.create(Collections.emptyMap());
+        tierRoller = new TierRoller(() -> settings);
+        dropEngine = new RelicDropEngine(() -> settings, tierRoller, new RelicRandom(1L), (type, tier) -> AVAILABLE_UNLOCKS);
+        random = new SplittableRandom(2L);
+    }
+
+    /** One roll for each of a low, middle and top cap. */
+    @Benchmark
+    public void rollRelicTier(Blackhole blackhole) {
+        for (SkillTier cap : CAPS) {
+            blackhole.consume(tierRoller.roll(cap, random));
+        }
+    }
+
+    @Benchmark
+    public DropDecision xpDropDecision() {
+        xpDropIndex = (xpDropIndex + 1) & (XP_DROPS.length - 1);
+        return dropEngine.onXpGained(Skill.WOODCUTTING, XP_DROPS[xpDropIndex]);
+    }
+}
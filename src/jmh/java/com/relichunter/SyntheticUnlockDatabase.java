@@ -0,0 +1,143 @@
+// Filename: RelicHunter/src/jmh/java/com/relichunter/SyntheticUnlockDatabase.java
+package com.relichunter;
+
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockDatabaseRoot;
+import com.relichunter.unlock.UnlockType;
+import net.runelite.api.Quest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * Generates unlock databases of any size with roughly the shape of the shipped one, for benchmarking.
+ * <p>
+ * Every database starts with the GEAR_MELEE_* chain (one unlock per {@link GearTier}) and a QUEST_* unlock per
+ * {@link Quest}, so the real lookups hit real IDs. The rest are synthetic entries in the shipped category mix,
+ * each with up to three prerequisites among recent entries, and gear tier/specific item unlocks holding item
+ * IDs from the OSRS item range. The same size and seed always give the same database.
+ */
+final class SyntheticUnlockDatabase {
+
+    static final int MAX_ITEM_ID = 30_000;
+
+    private static final SkillTier[] RELIC_TIERS = RelicInventory.RELIC_TIERS;
+    private static final RelicType[] RELIC_TYPES = RelicType.values();
+    // Category mix of the shipped P2P database (skill tiers, gear tiers, specific items, areas, ...)
+    private static final UnlockType[] CATEGORIES = {
+            UnlockType.SKILL_TIER, UnlockType.GEAR_TIER, UnlockType.SPECIFIC_ITEM, UnlockType.AREA, UnlockType.QUEST,
+            UnlockType.MECHANIC, UnlockType.SKILLING_METHOD, UnlockType.BOSS
+    };
+    private static final int[] CATEGORY_WEIGHTS = {95, 20, 16, 14, 12, 18, 11, 13};
+    private static final int ITEMS_PER_GEAR_TIER = 40;
+    // Prerequisites are picked among this many preceding entries, which keeps chains at a realistic depth
+    private static final int PREREQUISITE_WINDOW = 64;
+
+    private SyntheticUnlockDatabase() {
+    }
+
+    static UnlockDatabaseRoot generate(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<UnlockData> unlocks = new ArrayList<>(size);
+
+        String previousGearTier = null;
+        for (GearTier tier : GearTier.values()) {
+            if (tier == GearTier.NONE) {
+                continue;
+            }
+            String id = UnlockManager.getGearTierId(tier);
+            UnlockData unlock = unlock(id, UnlockType.GEAR_TIER, RelicType.COMBAT,
+                    RELIC_TIERS[Math.min(RELIC_TIERS.length - 1, (tier.ordinal() - 1) / 2)], random);
+            unlock.setItemIds(itemIds(ITEMS_PER_GEAR_TIER, random));
+            if (previousGearTier != null) {
+                unlock.setPrerequisites(Collections.singletonList(previousGearTier));
+            }
+            unlocks.add(unlock);
+            previousGearTier = id;
+        }
+        for (Quest quest : Quest.values()) {
+            UnlockData unlock = unlock("QUEST_" + quest.name(), UnlockType.QUEST, RelicType.EXPLORATION,
+                    RELIC_TIERS[random.nextInt(RELIC_TIERS.length)], random);
+            unlock.setQuestId(quest.getId());
+            unlocks.add(unlock);
+        }
+
+        int weightTotal = Arrays.stream(CATEGORY_WEIGHTS).sum();
+        for (int i = unlocks.size(); i < size; i++) {
+            UnlockType category = pickCategory(random.nextInt(weightTotal));
+            UnlockData unlock = unlock("SYNTHETIC_" + category.name() + "_" + i, category,
+                    RELIC_TYPES[random.nextInt(RELIC_TYPES.length)], RELIC_TIERS[random.nextInt(RELIC_TIERS.length)], random);
+            if (category == UnlockType.GEAR_TIER) {
+                unlock.setItemIds(itemIds(ITEMS_PER_GEAR_TIER, random));
+            } else if (category == UnlockType.SPECIFIC_ITEM) {
+                unlock.setItemIds(itemIds(1, random));
+            }
+            int prerequisiteCount = random.nextInt(4);
+            if (prerequisiteCount > 0) {
+                Set<String> prerequisites = new LinkedHashSet<>();
+                for (int p = 0; p < prerequisiteCount; p++) {
+                    int back = 1 + random.nextInt(Math.min(i, PREREQUISITE_WINDOW));
+                    prerequisites.add(unlocks.get(i - back).getId());
+                }
+                unlock.setPrerequisites(new ArrayList<>(prerequisites));
+            }
+            unlocks.add(unlock);
+        }
+
+        UnlockDatabaseRoot root = new UnlockDatabaseRoot();
+        root.setUnlocks(unlocks);
+        return root;
+    }
+
+    /**
+     * Picks a reproducible subset of the unlock IDs to treat as unlocked.
+     * @param share Fraction of the unlocks to pick, 0 to 1.
+     */
+    static Set<String> unlockedIds(UnlockDatabaseRoot root, double share, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Set<String> unlocked = new HashSet<>();
+        for (UnlockData unlock : root.getUnlocks()) {
+            if (random.nextDouble() < share) {
+                unlocked.add(unlock.getId());
+            }
+        }
+        return unlocked;
+    }
+
+    private static UnlockData unlock(String id, UnlockType category, RelicType relicType, SkillTier requiredTier,
+                                     SplittableRandom random) {
+        UnlockData unlock = new UnlockData();
+        unlock.setId(id);
+        unlock.setName(id);
+        unlock.setDescription("Synthetic benchmark entry");
+        unlock.setCategory(category);
+        unlock.setRelicType(relicType);
+        unlock.setRequiredTier(requiredTier);
+        unlock.setMembers(random.nextInt(4) != 0);
+        return unlock;
+    }
+
+    private static Set<Integer> itemIds(int count, SplittableRandom random) {
+        Set<Integer> itemIds = new HashSet<>();
+        while (itemIds.size() < count) {
+            itemIds.add(1 + random.nextInt(MAX_ITEM_ID));
+        }
+        return itemIds;
+    }
+
+    private static UnlockType pickCategory(int roll) {
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            roll -= CATEGORY_WEIGHTS[i];
+            if (roll < 0) {
+                return CATEGORIES[i];
+            }
+        }
+        return UnlockType.OTHER;
+    }
+}
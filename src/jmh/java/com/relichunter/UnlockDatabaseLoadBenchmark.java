@@ -0,0 +1,77 @@
+// Filename: RelicHunter/src/jmh/java/com/relichunter/UnlockDatabaseLoadBenchmark.java
+package com.relichunter;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import com.relichunter.unlock.UnlockDatabaseCodec;
+import com.relichunter.unlock.UnlockDatabaseRoot;
+import com.relichunter.unlock.UnlockIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The steps of loading one unlock database at startup: parsing the JSON with Gson (the fallback path),
+ * decoding the precompiled binary (the normal path) and building the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UnlockDatabaseLoadBenchmark {
+
+    private static final Type DATABASE_TYPE = new TypeToken<UnlockDatabaseRoot>(){}.getType();
+
+    @Param({"10000", "100000"})
+    public int unlockCount;
+
+    private final Gson gson = new Gson();
+    private UnlockDatabaseRoot database;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        database = SyntheticUnlockDatabase.generate(unlockCount, 1L);
+        json = gson.toJson(database).getBytes(StandardCharsets.UTF_8);
+        binary = UnlockDatabaseCodec.encode(database);
+    }
+
+    /** Same reader setup as RelicHunterPlugin.readUnlockDatabase. */
+    @Benchmark
+    public UnlockDatabaseRoot gsonLoad() throws IOException {
+        try (Reader reader = new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, DATABASE_TYPE);
+        }
+    }
+
+    @Benchmark
+    public UnlockDatabaseRoot binaryDecode() throws IOException {
+        return UnlockDatabaseCodec.decode(ByteBuffer.wrap(binary));
+    }
+
+    @Benchmark
+    public UnlockIndex buildIndex() {
+        return UnlockIndex.build(database.getUnlocks());
+    }
+}
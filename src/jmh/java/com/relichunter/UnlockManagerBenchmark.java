@@ -0,0 +1,140 @@
+// Filename: RelicHunter/src/jmh/java/com/relichunter/UnlockManagerBenchmark.java
+package com.relichunter;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.relichunter.sim.SimulationSettings;
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockDatabaseRoot;
+import com.relichunter.unlock.UnlockType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unlock queries made on event and render paths, against a synthetic database with a third of it unlocked.
+ * Each benchmark covers one full sweep (all GEAR_MELEE tiers, all relic buckets, ...), not a single call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnlockManagerBenchmark {
+
+    private static final SkillTier[] RELIC_TIERS = RelicInventory.RELIC_TIERS;
+    private static final int SAMPLED_ORDINALS = 1024;
+
+    @Param({"10000", "100000"})
+    public int unlockCount;
+
+    private UnlockManager unlockManager;
+    private UnlockStateStore unlockStateStore;
+    private Set<String> unlockedIds;
+    // One item of every GEAR_MELEE_* tier
+    private int[] gearMeleeItemIds;
+    private int[] sampledOrdinals;
+    private final RelicRandom relicRandom = new RelicRandom(4L);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Injector injector = Guice.createInjector(binder ->
+                binder.bind(RelicHunterConfig.class).toInstance(SimulationSettings.config(Collections.emptyMap())));
+        unlockManager = injector.getInstance(UnlockManager.class);
+        unlockStateStore = injector.getInstance(UnlockStateStore.class);
+
+        UnlockDatabaseRoot root = SyntheticUnlockDatabase.generate(unlockCount, 1L);
+        unlockManager.loadData(root.getUnlocks());
+        unlockedIds = Set.copyOf(SyntheticUnlockDatabase.unlockedIds(root, 1 / 3.0, 2L));
+        unlockStateStore.publish(unlockedIds);
+        unlockManager.refreshUnlockState();
+
+        gearMeleeItemIds = root.getUnlocks().stream()
+                .filter(unlock -> unlock.getCategory() == UnlockType.GEAR_TIER && unlock.getId().startsWith("GEAR_MELEE_"))
+                .map(UnlockData::getItemIds)
+                .mapToInt(itemIds -> itemIds.iterator().next())
+                .toArray();
+
+        SplittableRandom random = new SplittableRandom(3L);
+        sampledOrdinals = new int[SAMPLED_ORDINALS];
+        for (int i = 0; i < sampledOrdinals.length; i++) {
+            sampledOrdinals[i] = random.nextInt(unlockCount);
+        }
+    }
+
+    /** The set-based check, which converts the unlocked IDs on every call. */
+    @Benchmark
+    public void isItemPermittedByUnlocks(Blackhole blackhole) {
+        for (int itemId : gearMeleeItemIds) {
+            blackhole.consume(unlockManager.isItemPermittedByUnlocks(itemId, unlockedIds));
+        }
+    }
+
+    /** The overlay path: one lookup in the precomputed permission bitmap. */
+    @Benchmark
+    public void isItemAllowed(Blackhole blackhole) {
+        for (int itemId : gearMeleeItemIds) {
+            blackhole.consume(unlockManager.isItemAllowed(itemId));
+        }
+    }
+
+    @Benchmark
+    public void getPotentialUnlocks(Blackhole blackhole) {
+        for (RelicType type : RelicType.values()) {
+            for (SkillTier tier : RELIC_TIERS) {
+                blackhole.consume(unlockManager.getPotentialUnlocks(type, tier));
+            }
+        }
+    }
+
+    /** What an activation offers: rollable filter, shuffle, first CHOICES_OFFERED. */
+    @Benchmark
+    public void offerChoices(Blackhole blackhole) {
+        for (RelicType type : RelicType.values()) {
+            for (SkillTier tier : RELIC_TIERS) {
+                blackhole.consume(unlockManager.offerChoices(type, tier, relicRandom));
+            }
+        }
+    }
+
+    @Benchmark
+    public void arePrerequisitesMet(Blackhole blackhole) {
+        for (int ordinal : sampledOrdinals) {
+            blackhole.consume(unlockManager.arePrerequisitesMet(ordinal));
+        }
+    }
+
+    /** The available-unlock count read by every drop roll (formerly calculateAvailableUnlocks). */
+    @Benchmark
+    public void getAvailableUnlockCount(Blackhole blackhole) {
+        for (RelicType type : RelicType.values()) {
+            for (SkillTier tier : RELIC_TIERS) {
+                blackhole.consume(unlockManager.getAvailableUnlockCount(type, tier));
+            }
+        }
+    }
+
+    /** Recomputing the unlocked words, available counts and item bitmap, as after every unlock. */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int refreshUnlockState() {
+        unlockManager.refreshUnlockState();
+        return unlockManager.getStateGeneration();
+    }
+}
@@ -0,0 +1,125 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/AvailabilityTracker.java
+package com.relichunter;
+
+import com.relichunter.unlock.PrerequisiteGraph;
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockIndex;
+
+import java.util.Arrays;
+
+/**
+ * Keeps a live count of the unlocks that can currently be rolled per (RelicType, SkillTier) bucket,
+ * i.e. entries that are not unlocked yet and whose prerequisites are all unlocked.
+ * <p>
+ * Growing the unlocked set only re-evaluates the new unlocks and their direct dependents; any
+ * other change (reset, removals) falls back to a full recompute. One instance tracks one unlock
+ * state over one {@link UnlockIndex}, so several independent states (e.g. simulated players) can
+ * share the same database. Not thread-safe; confine each instance to one writer.
+ */
+public final class AvailabilityTracker {
+
+    private static final int TIER_COUNT = SkillTier.values().length;
+    private static final int BUCKET_COUNT = RelicType.values().length * TIER_COUNT;
+    private static final int NO_BUCKET = -1;
+
+    private final UnlockIndex index;
+    private final PrerequisiteGraph graph;
+    private final int unlockCount;
+    // Per unlock ordinal: RelicType.ordinal() * TIER_COUNT + SkillTier.ordinal(), or NO_BUCKET
+    private final int[] bucketOfOrdinal;
+
+    private final boolean[] available;
+    private final int[] availableCounts;
+    private long[] unlocked = new long[0];
+
+    /**
+     * Creates a tracker over the given database, starting from an empty unlocked set.
+     */
+    public AvailabilityTracker(UnlockIndex index) {
+        this.index = index;
+        this.graph = index.getPrerequisiteGraph();
+        this.unlockCount = index.size();
+        this.bucketOfOrdinal = new int[unlockCount];
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            UnlockData unlock = index.getUnlockByOrdinal(ordinal);
+            bucketOfOrdinal[ordinal] = unlock.getRelicType() != null
+                    ? bucketIndex(unlock.getRelicType(), unlock.getRequiredTier())
+                    : NO_BUCKET;
+        }
+        this.available = new boolean[unlockCount];
+        this.availableCounts = new int[BUCKET_COUNT];
+        recompute();
+    }
+
+    /**
+     * Gets the number of unlocks a relic of the given type and tier could currently roll.
+     */
+    public int getAvailableCount(RelicType type, SkillTier tier) {
+        return getAvailableCount(availableCounts, type, tier);
+    }
+
+    /**
+     * @return A copy of the per-bucket counts, for publishing as part of an immutable snapshot.
+     * Read it back with {@link #getAvailableCount(int[], RelicType, SkillTier)}.
+     */
+    public int[] copyAvailableCounts() {
+        return availableCounts.clone();
+    }
+
+    public static int getAvailableCount(int[] counts, RelicType type, SkillTier tier) {
+        return type != null && tier != null && counts.length == BUCKET_COUNT ? counts[bucketIndex(type, tier)] : 0;
+    }
+
+    /**
+     * Moves the tracker to a new unlocked set.
+     * @param newUnlocked Unlocked ordinals as BitSet words. Not copied; must not be modified afterwards.
+     */
+    public void update(long[] newUnlocked) {
+        long[] previous = unlocked;
+        unlocked = newUnlocked;
+        if (!UnlockIndex.containsAll(newUnlocked, previous)) {
+            recompute();
+            return;
+        }
+        for (int word = 0; word < newUnlocked.length; word++) {
+            long added = newUnlocked[word] & ~(word < previous.length ? previous[word] : 0L);
+            while (added != 0) {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(added);
+                added &= added - 1;
+                if (ordinal < unlockCount) {
+                    reevaluate(ordinal);
+                }
+                if (ordinal < graph.getNodeCount()) {
+                    for (int dependent : graph.getDependents(ordinal)) {
+                        reevaluate(dependent);
+                    }
+                }
+            }
+        }
+    }
+
+    private void recompute() {
+        Arrays.fill(available, false);
+        Arrays.fill(availableCounts, 0);
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            reevaluate(ordinal);
+        }
+    }
+
+    private void reevaluate(int ordinal) {
+        boolean nowAvailable = !UnlockIndex.isSet(unlocked, ordinal)
+                && UnlockIndex.containsAll(unlocked, index.getPrerequisiteMask(ordinal));
+        if (nowAvailable == available[ordinal]) {
+            return;
+        }
+        available[ordinal] = nowAvailable;
+        int bucket = bucketOfOrdinal[ordinal];
+        if (bucket != NO_BUCKET) {
+            availableCounts[bucket] += nowAvailable ? 1 : -1;
+        }
+    }
+
+    private static int bucketIndex(RelicType type, SkillTier tier) {
+        return type.ordinal() * TIER_COUNT + tier.ordinal();
+    }
+}
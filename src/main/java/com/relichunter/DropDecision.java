@@ -0,0 +1,86 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/DropDecision.java
+package com.relichunter;
+
+import lombok.Getter;
+
+import javax.annotation.Nullable;
+
+/**
+ * The result of one {@link RelicDropEngine} roll: whether a relic dropped and, for logging, how far the roll got.
+ * Immutable; the plugin applies it (inventory, chat message, graphic) and the simulator just counts it.
+ */
+@Getter
+public final class DropDecision {
+
+    public enum Outcome {
+        /** The event cannot drop a relic at all (XP drop too small, combat skill, beginner clue, ...). */
+        INELIGIBLE,
+        /** Eligible, but a relic of that tier would have nothing left to unlock, so there was no roll. */
+        NO_UNLOCKS_AVAILABLE,
+        /** The 1 in {@link #getRollThreshold()} roll missed. */
+        ROLL_FAILED,
+        /** A relic of {@link #getTier()} dropped. */
+        DROPPED
+    }
+
+    private static final DropDecision[] INELIGIBLE_BY_SOURCE = new DropDecision[RelicSource.values().length];
+
+    static {
+        for (RelicSource source : RelicSource.values()) {
+            INELIGIBLE_BY_SOURCE[source.ordinal()] = new DropDecision(Outcome.INELIGIBLE, source, null, 0, 0, null);
+        }
+    }
+
+    private final Outcome outcome;
+    private final RelicSource source;
+    // Highest tier the event was eligible for; null if INELIGIBLE
+    @Nullable
+    private final SkillTier maxTier;
+    private final int availableUnlocks;
+    // The X in 1 in X; 0 if there was no roll
+    private final int rollThreshold;
+    // Tier of the dropped relic; null unless DROPPED
+    @Nullable
+    private final SkillTier tier;
+
+    private DropDecision(Outcome outcome, RelicSource source, @Nullable SkillTier maxTier, int availableUnlocks,
+                         int rollThreshold, @Nullable SkillTier tier) {
+        this.outcome = outcome;
+        this.source = source;
+        this.maxTier = maxTier;
+        this.availableUnlocks = availableUnlocks;
+        this.rollThreshold = rollThreshold;
+        this.tier = tier;
+    }
+
+    static DropDecision ineligible(RelicSource source) {
+        return INELIGIBLE_BY_SOURCE[source.ordinal()];
+    }
+
+    static DropDecision noUnlocksAvailable(RelicSource source, SkillTier maxTier) {
+        return new DropDecision(Outcome.NO_UNLOCKS_AVAILABLE, source, maxTier, 0, 0, null);
+    }
+
+    static DropDecision rolled(RelicSource source, SkillTier maxTier, int availableUnlocks, int rollThreshold,
+                               @Nullable SkillTier tier) {
+        return new DropDecision(tier != null ? Outcome.DROPPED : Outcome.ROLL_FAILED,
+                source, maxTier, availableUnlocks, rollThreshold, tier);
+    }
+
+    public boolean isDropped() {
+        return outcome == Outcome.DROPPED;
+    }
+
+    /**
+     * @return The relic type this source drops.
+     */
+    public RelicType getRelicType() {
+        return RelicDropEngine.relicTypeFor(source);
+    }
+
+    @Override
+    public String toString() {
+        return "DropDecision{" + outcome + ", source=" + source + ", maxTier=" + maxTier + ", available=" + availableUnlocks
+                + ", threshold=1 in " + rollThreshold + ", tier=" + tier + "}";
+    }
+}
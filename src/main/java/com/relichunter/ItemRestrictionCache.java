@@ -0,0 +1,242 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/ItemRestrictionCache.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.InventoryID;
+import net.runelite.api.Item;
+import net.runelite.api.ItemContainer;
+import com.relichunter.util.IntIntHashMap;
+import net.runelite.api.widgets.WidgetInfo;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Remembers, per item container and slot, whether the item there is restricted.
+ * <p>
+ * The containers ItemRestrictionOverlay draws from (inventory, equipment, bank, looting bag) are keyed by
+ * their {@link InventoryID} and classified as a whole, in one {@link UnlockManager#classifyItems} batch,
+ * whenever ItemContainerChanged reports new contents; other containers are not cached. Interfaces without
+ * such a container (shop stock, trade offers) are keyed by their widget ID, filled slot by slot as they are
+ * drawn and forgotten when the interface closes. When the player's unlocks change, every container is
+ * reclassified in one batch the next time it is drawn.
+ * <p>
+ * A lookup only counts as a hit if the cached slot still holds the item being drawn, so a stale or
+ * mismatched slot is re-checked rather than trusted. Lookups run for every drawn item every frame, so
+ * neither key is boxed. Only used from the client thread.
+ */
+@Slf4j
+@Singleton
+public class ItemRestrictionCache {
+
+    // Slot has not been seen yet; negative, so classifyItems treats it as unrestricted
+    private static final int UNKNOWN_ITEM = Integer.MIN_VALUE;
+    private static final int INITIAL_SLOTS = 28;
+    // The InventoryIDs ItemRestrictionOverlay maps item widgets to; every other key is a widget ID
+    private static final int INVENTORY = InventoryID.INVENTORY.getId();
+    private static final int EQUIPMENT = InventoryID.EQUIPMENT.getId();
+    private static final int BANK = InventoryID.BANK.getId();
+    private static final int LOOTING_BAG = InventoryID.LOOTING_BAG.getId();
+    private static final int TRACKED_CONTAINERS = 4;
+    private static final int NOT_TRACKED = -1;
+    private static final int INITIAL_WIDGET_CONTAINERS = 8;
+
+    private final UnlockManager unlockManager;
+    // Indexed by trackedIndex(InventoryID id), kept up to date by ItemContainerChanged
+    private final ContainerRestrictions[] containers = new ContainerRestrictions[TRACKED_CONTAINERS];
+    // Widget ID -> index into widgetContainerList, evicted by WidgetClosed
+    private IntIntHashMap widgetContainers = new IntIntHashMap(INITIAL_WIDGET_CONTAINERS, NOT_TRACKED);
+    private final List<ContainerRestrictions> widgetContainerList = new ArrayList<>();
+
+    private long hits;
+    private long misses;
+    private long batches;
+
+    @Inject
+    private ItemRestrictionCache(UnlockManager unlockManager) {
+        this.unlockManager = unlockManager;
+    }
+
+    /**
+     * Reclassifies a whole container after the client reported new contents. Containers the overlay
+     * never draws from are ignored.
+     * @param containerId The container's InventoryID id.
+     * @param itemContainer The new contents, or null if the container is gone.
+     */
+    public void onItemContainerChanged(int containerId, ItemContainer itemContainer) {
+        int index = trackedIndex(containerId);
+        if (index == NOT_TRACKED) {
+            return;
+        }
+        Item[] items = itemContainer != null ? itemContainer.getItems() : null;
+        if (items == null) {
+            containers[index] = null;
+            return;
+        }
+        ContainerRestrictions container = trackedContainer(index);
+        if (container.itemIds.length < items.length) {
+            container.grow(items.length);
+        }
+        for (int slot = 0; slot < items.length; slot++) {
+            container.itemIds[slot] = items[slot] != null ? items[slot].getId() : UNKNOWN_ITEM;
+        }
+        Arrays.fill(container.itemIds, items.length, container.itemIds.length, UNKNOWN_ITEM);
+        classify(container);
+    }
+
+    /**
+     * @param containerId An InventoryID id, or the widget ID for interfaces without an item container.
+     * @param slot The item's slot in that container.
+     * @param itemId The item currently shown in the slot.
+     * @return true if the player may NOT use the item with their current unlocks.
+     */
+    public boolean isRestricted(int containerId, int slot, int itemId) {
+        if (slot < 0) {
+            misses++;
+            return !unlockManager.isItemAllowed(itemId);
+        }
+        int index = trackedIndex(containerId);
+        ContainerRestrictions container = index != NOT_TRACKED ? trackedContainer(index) : widgetContainer(containerId);
+        if (container.generation != unlockManager.getStateGeneration()) {
+            classify(container);
+        }
+        if (slot >= container.itemIds.length) {
+            container.grow(slot + 1);
+        }
+        if (container.itemIds[slot] == itemId) {
+            hits++;
+        } else {
+            misses++;
+            container.itemIds[slot] = itemId;
+            container.restricted[slot] = !unlockManager.isItemAllowed(itemId);
+        }
+        return container.restricted[slot];
+    }
+
+    /**
+     * Forgets the widget-keyed containers of an interface that was closed; its widget IDs may show
+     * different items the next time it opens.
+     * @param groupId The closed interface's widget group.
+     */
+    public void onWidgetClosed(int groupId) {
+        if (widgetContainers.size() == 0) {
+            return;
+        }
+        // The map has no removal; rebuild it from the containers that stay open
+        IntIntHashMap kept = new IntIntHashMap(widgetContainers.size(), NOT_TRACKED);
+        List<ContainerRestrictions> keptList = new ArrayList<>(widgetContainerList.size());
+        widgetContainers.forEach((widgetId, index) -> {
+            if (WidgetInfo.TO_GROUP(widgetId) != groupId) {
+                kept.put(widgetId, keptList.size());
+                keptList.add(widgetContainerList.get(index));
+            }
+        });
+        if (kept.size() == widgetContainers.size()) {
+            return;
+        }
+        widgetContainers = kept;
+        widgetContainerList.clear();
+        widgetContainerList.addAll(keptList);
+    }
+
+    /** Forgets every container and resets the counters. */
+    public void clear() {
+        Arrays.fill(containers, null);
+        widgetContainers = new IntIntHashMap(INITIAL_WIDGET_CONTAINERS, NOT_TRACKED);
+        widgetContainerList.clear();
+        hits = 0;
+        misses = 0;
+        batches = 0;
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    /** @return How many whole-container classifications ran (content or unlock changes). */
+    public long getBatchCount() {
+        return batches;
+    }
+
+    public void logStats() {
+        long lookups = hits + misses;
+        log.debug("Item restriction cache: {} lookups, {} hits ({}%), {} misses, {} batch classifications over {} containers.",
+                lookups, hits, lookups == 0 ? 0 : hits * 100 / lookups, misses, batches, trackedContainerCount() + widgetContainers.size());
+    }
+
+    private static int trackedIndex(int containerId) {
+        // InventoryID ids are not compile-time constants, so this can't be a switch
+        if (containerId == INVENTORY) {
+            return 0;
+        } else if (containerId == EQUIPMENT) {
+            return 1;
+        } else if (containerId == BANK) {
+            return 2;
+        } else if (containerId == LOOTING_BAG) {
+            return 3;
+        }
+        return NOT_TRACKED;
+    }
+
+    private ContainerRestrictions trackedContainer(int index) {
+        ContainerRestrictions container = containers[index];
+        if (container == null) {
+            container = new ContainerRestrictions();
+            containers[index] = container;
+        }
+        return container;
+    }
+
+    private ContainerRestrictions widgetContainer(int widgetId) {
+        int index = widgetContainers.get(widgetId);
+        if (index != NOT_TRACKED) {
+            return widgetContainerList.get(index);
+        }
+        ContainerRestrictions container = new ContainerRestrictions();
+        widgetContainers.put(widgetId, widgetContainerList.size());
+        widgetContainerList.add(container);
+        return container;
+    }
+
+    private int trackedContainerCount() {
+        int count = 0;
+        for (ContainerRestrictions container : containers) {
+            if (container != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void classify(ContainerRestrictions container) {
+        container.generation = unlockManager.classifyItems(container.itemIds, container.restricted);
+        batches++;
+    }
+
+    private static final class ContainerRestrictions {
+        int[] itemIds = newItemIds(INITIAL_SLOTS);
+        boolean[] restricted = new boolean[INITIAL_SLOTS];
+        int generation = -1;
+
+        void grow(int minSlots) {
+            int slots = Math.max(minSlots, itemIds.length * 2);
+            int oldLength = itemIds.length;
+            itemIds = Arrays.copyOf(itemIds, slots);
+            Arrays.fill(itemIds, oldLength, slots, UNKNOWN_ITEM);
+            restricted = Arrays.copyOf(restricted, slots);
+        }
+
+        private static int[] newItemIds(int slots) {
+            int[] itemIds = new int[slots];
+            Arrays.fill(itemIds, UNKNOWN_ITEM);
+            return itemIds;
+        }
+    }
+}
@@ -2,35 +2,89 @@
 // Content:
 package com.relichunter;
 
+import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
-// import java.awt.image.BufferedImage; // Keep if using icons later
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
 import javax.inject.Inject;
+import net.runelite.api.InventoryID;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetID;
+import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.api.widgets.WidgetItem;
 import net.runelite.client.ui.overlay.WidgetItemOverlay;
-// Removed ColorUtil import as we get color directly from config
 
 /**
  * Overlay to visually indicate items restricted by the player's current progression.
- * Uses configuration settings to enable/disable and set tint color.
+ * Uses configuration settings to enable/disable and pick the style and tint color.
+ * Covers the inventory, equipment, bank, deposit box, trade, shop and looting bag interfaces.
+ * <p>
+ * In TINT style the restricted slots are only collected while the items are walked, then filled as one
+ * path at the end of the frame, so the draw cost does not grow with the number of restricted items.
  */
 public class ItemRestrictionOverlay extends WidgetItemOverlay {
 
-    private final RelicHunterPlugin plugin;
-    private final RelicHunterConfig config;
+    private static final int LOCK_ICON_WIDTH = 9;
+    private static final int LOCK_ICON_HEIGHT = 11;
+
+    private final RelicHunterSettingsStore settingsStore;
+    private final ItemRestrictionCache restrictionCache;
+
+    // Per frame: settings read once, and the restricted slot bounds collected for TINT
+    private ItemRestrictionStyle frameStyle;
+    private final Path2D.Float restrictedArea = new Path2D.Float();
+    private int restrictedCount;
+    private final Rectangle itemClip = new Rectangle();
+
+    private BufferedImage lockIcon;
+    private Color lockIconColor;
 
     @Inject
-    private ItemRestrictionOverlay(RelicHunterPlugin plugin, RelicHunterConfig config) {
-        this.plugin = plugin;
-        this.config = config;
-        // Show overlay only on Inventory and Equipment widgets initially
+    private ItemRestrictionOverlay(RelicHunterSettingsStore settingsStore, ItemRestrictionCache restrictionCache) {
+        this.settingsStore = settingsStore;
+        this.restrictionCache = restrictionCache;
         showOnInventory();
         showOnEquipment();
-        // TODO: Potentially add Bank and other relevant containers if needed
-        // showOnBank();
-        // showOnTrade();
+        // Large containers are affordable because results are cached per container slot
+        showOnBank();
+        showOnInterfaces(
+                WidgetID.DEPOSIT_BOX_GROUP_ID,
+                WidgetID.PLAYER_TRADE_SCREEN_GROUP_ID,
+                WidgetID.SHOP_GROUP_ID,
+                WidgetID.LOOTING_BAG_GROUP_ID);
+    }
+
+    @Override
+    public Dimension render(Graphics2D graphics) {
+        RelicHunterSettings settings = settingsStore.get();
+        // Check if the overlay feature is enabled in config
+        if (!settings.isShowItemRestrictions()) {
+            return null;
+        }
+        frameStyle = settings.getItemRestrictionStyle();
+        Color tintColor = settings.getItemRestrictionColor();
+        if (frameStyle == ItemRestrictionStyle.LOCK_ICON && !tintColor.equals(lockIconColor)) {
+            lockIcon = renderLockIcon(tintColor);
+            lockIconColor = tintColor;
+        }
+        restrictedArea.reset();
+        restrictedCount = 0;
+
+        Shape originalClip = graphics.getClip();
+        // Walks every visible item, calling renderItemOverlay
+        super.render(graphics);
+        graphics.setClip(originalClip);
+
+        if (restrictedCount > 0) {
+            graphics.setColor(tintColor);
+            graphics.fill(restrictedArea);
+        }
+        return null;
     }
 
     /**
@@ -38,24 +92,86 @@ public class ItemRestrictionOverlay extends WidgetItemOverlay {
      */
     @Override
     public void renderItemOverlay(Graphics2D graphics, int itemId, WidgetItem widgetItem) {
-        // Check if the overlay feature is enabled in config
-        if (!config.showItemRestrictions()) {
+        Widget container = widgetItem.getWidget();
+        boolean restricted = container != null
+                ? restrictionCache.isRestricted(getContainerKey(container), widgetItem.getIndex(), itemId)
+                : restrictionCache.isRestricted(-1, -1, itemId);
+        if (!restricted) {
+            return;
+        }
+        Rectangle bounds = widgetItem.getCanvasBounds();
+        if (bounds == null || bounds.width <= 0 || bounds.height <= 0) {
             return;
         }
 
-        // Check if the item is restricted using the plugin's helper method
-        // *** FIX: Changed isMeleeItemAllowed to isItemAllowed ***
-        if (!plugin.isItemAllowed(itemId)) {
-            Rectangle bounds = widgetItem.getCanvasBounds();
-            if (bounds != null && bounds.width > 0 && bounds.height > 0) {
-                // Get tint color from config
-                Color tintColor = config.itemRestrictionColor();
-                // Draw the tint
-                graphics.setColor(tintColor);
-                graphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        if (frameStyle == ItemRestrictionStyle.LOCK_ICON) {
+            graphics.drawImage(lockIcon, bounds.x + bounds.width - LOCK_ICON_WIDTH, bounds.y + bounds.height - LOCK_ICON_HEIGHT, null);
+            return;
+        }
 
-                // TODO: Optionally add config for showing an icon instead/as well
-            }
+        // The tint is filled after all items, so apply the clip set up for this item (e.g. bank scrolling) now
+        itemClip.setBounds(bounds);
+        graphics.getClipBounds(itemClip);
+        int x1 = Math.max(bounds.x, itemClip.x);
+        int y1 = Math.max(bounds.y, itemClip.y);
+        int x2 = Math.min(bounds.x + bounds.width, itemClip.x + itemClip.width);
+        int y2 = Math.min(bounds.y + bounds.height, itemClip.y + itemClip.height);
+        if (x1 < x2 && y1 < y2) {
+            restrictedArea.moveTo(x1, y1);
+            restrictedArea.lineTo(x2, y1);
+            restrictedArea.lineTo(x2, y2);
+            restrictedArea.lineTo(x1, y2);
+            restrictedArea.closePath();
+            restrictedCount++;
+        }
+    }
+
+    /**
+     * Maps an item widget to the item container whose slots it shows, so the cache can use the contents
+     * from ItemContainerChanged. Interfaces without a fixed container fall back to their own widget ID.
+     */
+    private static int getContainerKey(Widget widget) {
+        switch (WidgetInfo.TO_GROUP(widget.getId())) {
+            case WidgetID.INVENTORY_GROUP_ID:
+            case WidgetID.BANK_INVENTORY_GROUP_ID:
+            case WidgetID.DEPOSIT_BOX_GROUP_ID:
+            case WidgetID.SHOP_INVENTORY_GROUP_ID:
+            case WidgetID.PLAYER_TRADE_INVENTORY_GROUP_ID:
+                return InventoryID.INVENTORY.getId();
+            case WidgetID.EQUIPMENT_GROUP_ID:
+                return InventoryID.EQUIPMENT.getId();
+            case WidgetID.BANK_GROUP_ID:
+                return InventoryID.BANK.getId();
+            case WidgetID.LOOTING_BAG_GROUP_ID:
+                return InventoryID.LOOTING_BAG.getId();
+            default:
+                return widget.getId();
+        }
+    }
+
+    /**
+     * Draws a small padlock in the (opaque) restriction color with a dark outline.
+     */
+    private static BufferedImage renderLockIcon(Color color) {
+        BufferedImage image = new BufferedImage(LOCK_ICON_WIDTH, LOCK_ICON_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            Color opaque = new Color(color.getRed(), color.getGreen(), color.getBlue());
+            // Shackle
+            g.setStroke(new BasicStroke(2f));
+            g.setColor(Color.BLACK);
+            g.drawArc(2, 1, 5, 7, 0, 180);
+            // Body
+            g.fillRect(0, 4, LOCK_ICON_WIDTH, LOCK_ICON_HEIGHT - 4);
+            g.setColor(opaque);
+            g.fillRect(1, 5, LOCK_ICON_WIDTH - 2, LOCK_ICON_HEIGHT - 6);
+            // Keyhole
+            g.setColor(Color.BLACK);
+            g.fillRect(LOCK_ICON_WIDTH / 2, 7, 1, 2);
+        } finally {
+            g.dispose();
         }
+        return image;
     }
 }
@@ -0,0 +1,20 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/ItemRestrictionStyle.java
+package com.relichunter;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum ItemRestrictionStyle {
+    TINT("Tint", "Cover restricted items with the restriction tint color."),
+    LOCK_ICON("Lock icon", "Stamp a small lock in the corner of restricted items.");
+
+    private final String name;
+    private final String description;
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
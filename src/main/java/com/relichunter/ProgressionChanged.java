@@ -0,0 +1,9 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/ProgressionChanged.java
+package com.relichunter;
+
+/**
+ * Posted on the EventBus once per committed {@link ProgressionRepository} transaction (or reset),
+ * after the new unlocked IDs and tiers have been published in memory.
+ */
+public class ProgressionChanged {
+}
@@ -0,0 +1,301 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/ProgressionRepository.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+import net.runelite.client.config.ConfigManager;
+import net.runelite.client.eventbus.EventBus;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Owns the player's progression: unlocked IDs, skill tiers and the melee gear tier.
+ * <p>
+ * An unlock is applied as one {@link Transaction}: all of its changes are published in memory together
+ * (unlocked IDs through {@link UnlockStateStore}, tiers here), then a single {@link ProgressionChanged}
+ * is posted. Config is written behind, at most once per {@link #FLUSH_DELAY_SECONDS}, and on logout
+ * and shutdown. The ConfigChanged events caused by those writes arrive on the flushing thread and are
+ * reported by {@link #isOwnWrite()}, so they do not trigger another refresh.
+ */
+@Slf4j
+@Singleton
+public class ProgressionRepository {
+
+    static final String UNLOCKED_RELICS_KEY = "unlockedRelics";
+    static final String MELEE_GEAR_TIER_KEY = "meleeGearTier";
+    static final int FLUSH_DELAY_SECONDS = 5;
+
+    private static final Skill[] SKILLS = Skill.values();
+
+    private final ConfigManager configManager;
+    private final RelicHunterConfig config;
+    private final UnlockStateStore unlockStateStore;
+    private final RelicInventory relicInventory;
+    private final EventBus eventBus;
+    private final ScheduledExecutorService executor;
+
+    // Indexed by Skill.ordinal(); replaced, never mutated, once published
+    private volatile SkillTier[] skillTiers = readSkillTiers(null);
+    private volatile GearTier meleeGearTier = GearTier.STEEL;
+
+    // Changes committed but not yet written to config; guarded by this
+    private boolean unlockedRelicsDirty;
+    private final Set<Skill> dirtySkills = EnumSet.noneOf(Skill.class);
+    private boolean meleeGearTierDirty;
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Set while this class writes to config, to recognise the resulting ConfigChanged events.
+    // This relies on ConfigManager posting ConfigChanged synchronously, on the thread that called
+    // setConfiguration/unsetConfiguration; if it ever posts them later or elsewhere, isOwnWrite() stops matching.
+    private volatile Thread writingThread;
+
+    @Inject
+    private ProgressionRepository(ConfigManager configManager, RelicHunterConfig config, UnlockStateStore unlockStateStore,
+                                  RelicInventory relicInventory, EventBus eventBus, ScheduledExecutorService executor) {
+        this.configManager = configManager;
+        this.config = config;
+        this.unlockStateStore = unlockStateStore;
+        this.relicInventory = relicInventory;
+        this.eventBus = eventBus;
+        this.executor = executor;
+    }
+
+    /**
+     * Reads the unlocked IDs and tiers from config. Should be called on startup.
+     */
+    public synchronized void load() {
+        unlockStateStore.reload();
+        skillTiers = readSkillTiers(config);
+        meleeGearTier = config.meleeGearTier();
+        unlockedRelicsDirty = false;
+        dirtySkills.clear();
+        meleeGearTierDirty = false;
+    }
+
+    /**
+     * Called for every ConfigChanged in the plugin's group that was not {@link #isOwnWrite() our own}.
+     * Re-reads the changed value unless a newer one from a committed transaction is still waiting to be written.
+     * @return true if the key holds progression state.
+     */
+    public synchronized boolean onConfigChanged(String key) {
+        if (UNLOCKED_RELICS_KEY.equals(key)) {
+            if (!unlockedRelicsDirty) {
+                unlockStateStore.reload();
+            }
+            return true;
+        }
+        if (MELEE_GEAR_TIER_KEY.equals(key)) {
+            if (!meleeGearTierDirty) {
+                meleeGearTier = config.meleeGearTier();
+            }
+            return true;
+        }
+        for (Skill skill : SKILLS) {
+            if (key.equals(getSkillTierConfigKey(skill))) {
+                if (!dirtySkills.contains(skill)) {
+                    SkillTier[] next = skillTiers.clone();
+                    next[skill.ordinal()] = readSkillTier(config, skill);
+                    skillTiers = next;
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true while this class is writing to config on the current thread; the ConfigChanged being
+     * handled was caused by that write and needs no further handling.
+     */
+    public boolean isOwnWrite() {
+        return writingThread == Thread.currentThread();
+    }
+
+    /**
+     * Gets the current tier of a skill. Attack, Strength, Defence and Hitpoints are always GRANDMASTER.
+     */
+    public SkillTier getSkillTier(Skill skill) {
+        return skillTiers[skill.ordinal()];
+    }
+
+    public GearTier getMeleeGearTier() {
+        return meleeGearTier;
+    }
+
+    /** Starts a transaction; nothing is applied until {@link Transaction#commit()}. */
+    public Transaction begin() {
+        return new Transaction();
+    }
+
+    /**
+     * Resets every unlock, tier and relic count to its default and writes that to config immediately.
+     */
+    public void reset() {
+        synchronized (this) {
+            writingThread = Thread.currentThread();
+            try {
+                configManager.unsetConfiguration(RelicHunterPlugin.CONFIG_GROUP, UNLOCKED_RELICS_KEY);
+                configManager.unsetConfiguration(RelicHunterPlugin.CONFIG_GROUP, MELEE_GEAR_TIER_KEY);
+                for (Skill skill : SKILLS) {
+                    String key = getSkillTierConfigKey(skill);
+                    if (key != null) {
+                        configManager.unsetConfiguration(RelicHunterPlugin.CONFIG_GROUP, key);
+                    }
+                }
+                relicInventory.reset();
+            } finally {
+                writingThread = null;
+            }
+            load();
+        }
+        eventBus.post(new ProgressionChanged());
+    }
+
+    /**
+     * Writes every committed change that is not in config yet, plus any pending relic counts.
+     * Called by the scheduled write-behind, on logout and on shutdown.
+     */
+    public synchronized void flush() {
+        flushScheduled.set(false);
+        writingThread = Thread.currentThread();
+        try {
+            if (unlockedRelicsDirty) {
+                configManager.setConfiguration(RelicHunterPlugin.CONFIG_GROUP, UNLOCKED_RELICS_KEY, unlockStateStore.getUnlockedIds());
+                unlockedRelicsDirty = false;
+            }
+            for (Skill skill : dirtySkills) {
+                configManager.setConfiguration(RelicHunterPlugin.CONFIG_GROUP, getSkillTierConfigKey(skill), skillTiers[skill.ordinal()]);
+            }
+            dirtySkills.clear();
+            if (meleeGearTierDirty) {
+                configManager.setConfiguration(RelicHunterPlugin.CONFIG_GROUP, MELEE_GEAR_TIER_KEY, meleeGearTier);
+                meleeGearTierDirty = false;
+            }
+            relicInventory.persist();
+        } finally {
+            writingThread = null;
+        }
+    }
+
+    private void commit(Transaction transaction) {
+        synchronized (this) {
+            if (!transaction.unlockIds.isEmpty()) {
+                Set<String> current = unlockStateStore.getUnlockedIds();
+                if (!current.containsAll(transaction.unlockIds)) {
+                    Set<String> next = new HashSet<>(current);
+                    next.addAll(transaction.unlockIds);
+                    unlockStateStore.publish(next);
+                    unlockedRelicsDirty = true;
+                }
+            }
+            if (!transaction.skillTiers.isEmpty()) {
+                SkillTier[] next = skillTiers.clone();
+                transaction.skillTiers.forEach((skill, tier) -> next[skill.ordinal()] = tier);
+                skillTiers = next;
+                dirtySkills.addAll(transaction.skillTiers.keySet());
+            }
+            if (transaction.meleeGearTier != null) {
+                meleeGearTier = transaction.meleeGearTier;
+                meleeGearTierDirty = true;
+            }
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::flush, FLUSH_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+        eventBus.post(new ProgressionChanged());
+    }
+
+    @Nullable
+    static String getSkillTierConfigKey(Skill skill) {
+        switch (skill) {
+            case RANGED: return "rangedTier"; case PRAYER: return "prayerTier";
+            case MAGIC: return "magicTier"; case RUNECRAFT: return "runecraftTier";
+            case CONSTRUCTION: return "constructionTier";
+            case AGILITY: return "agilityTier"; case HERBLORE: return "herbloreTier";
+            case THIEVING: return "thievingTier"; case CRAFTING: return "craftingTier";
+            case FLETCHING: return "fletchingTier"; case SLAYER: return "slayerTier";
+            case HUNTER: return "hunterTier"; case MINING: return "miningTier";
+            case SMITHING: return "smithingTier"; case FISHING: return "fishingTier";
+            case COOKING: return "cookingTier"; case FIREMAKING: return "firemakingTier";
+            case WOODCUTTING: return "woodcuttingTier"; case FARMING: return "farmingTier";
+            default: return null;
+        }
+    }
+
+    // With a null config every configurable skill starts LOCKED (used before load())
+    private static SkillTier[] readSkillTiers(@Nullable RelicHunterConfig config) {
+        SkillTier[] tiers = new SkillTier[SKILLS.length];
+        for (Skill skill : SKILLS) {
+            tiers[skill.ordinal()] = config != null ? readSkillTier(config, skill) : defaultSkillTier(skill);
+        }
+        return tiers;
+    }
+
+    private static SkillTier defaultSkillTier(Skill skill) {
+        if (skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE || skill == Skill.HITPOINTS) {
+            return SkillTier.GRANDMASTER;
+        }
+        return SkillTier.LOCKED;
+    }
+
+    private static SkillTier readSkillTier(RelicHunterConfig config, Skill skill) {
+        switch (skill) {
+            case RANGED: return config.rangedTier(); case PRAYER: return config.prayerTier();
+            case MAGIC: return config.magicTier(); case RUNECRAFT: return config.runecraftTier();
+            case CONSTRUCTION: return config.constructionTier();
+            case AGILITY: return config.agilityTier(); case HERBLORE: return config.herbloreTier();
+            case THIEVING: return config.thievingTier(); case CRAFTING: return config.craftingTier();
+            case FLETCHING: return config.fletchingTier(); case SLAYER: return config.slayerTier();
+            case HUNTER: return config.hunterTier(); case MINING: return config.miningTier();
+            case SMITHING: return config.smithingTier(); case FISHING: return config.fishingTier();
+            case COOKING: return config.cookingTier(); case FIREMAKING: return config.firemakingTier();
+            case WOODCUTTING: return config.woodcuttingTier(); case FARMING: return config.farmingTier();
+            default: return defaultSkillTier(skill);
+        }
+    }
+
+    /**
+     * The changes made by one unlock. Collects them without touching any shared state until committed.
+     */
+    public final class Transaction {
+        private final Set<String> unlockIds = new LinkedHashSet<>();
+        private final Map<Skill, SkillTier> skillTiers = new EnumMap<>(Skill.class);
+        private GearTier meleeGearTier;
+
+        private Transaction() {
+        }
+
+        public Transaction unlock(String unlockId) {
+            unlockIds.add(unlockId);
+            return this;
+        }
+
+        public Transaction setSkillTier(Skill skill, SkillTier tier) {
+            if (getSkillTierConfigKey(skill) != null) {
+                skillTiers.put(skill, tier);
+            }
+            return this;
+        }
+
+        public Transaction setMeleeGearTier(GearTier tier) {
+            meleeGearTier = tier;
+            return this;
+        }
+
+        /** Publishes every change at once, posts one {@link ProgressionChanged} and schedules the config write. */
+        public void commit() {
+            ProgressionRepository.this.commit(this);
+        }
+    }
+}
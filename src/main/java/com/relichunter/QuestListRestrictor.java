@@ -0,0 +1,261 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/QuestListRestrictor.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import com.relichunter.unlock.UnlockIndex;
+import net.runelite.api.Client;
+import net.runelite.api.Quest;
+import net.runelite.api.widgets.Widget;
+import net.runelite.api.widgets.WidgetType;
+
+import javax.annotation.Nullable;
+import javax.inject.Inject;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies the quest restriction mode to the quest list (widget group 399) outside of rendering.
+ * <p>
+ * A pass runs when the list is loaded or rebuilt, when the player's unlocks or the active database change,
+ * and when the restriction mode changes. In HIDE mode it hides locked rows and unhides rows it hid
+ * earlier once they are unlocked; in DIM mode it records the locked rows' bounds for
+ * {@link QuestLogOverlay} to fill. Everything here runs on the client thread.
+ */
+@Singleton
+public class QuestListRestrictor {
+
+    static final int QUEST_LIST_GROUP_ID = 399;
+    private static final int QUEST_LIST_CONTAINER_CHILD_ID = 7;
+
+    // Quest names lower-cased once, so a widget text resolves with one hash lookup instead of a scan over Quest.values()
+    private static final Map<String, Quest> QUESTS_BY_LOWER_CASE_NAME = buildQuestNameMap();
+    // Cached ordinal for a quest list row whose text is not a quest name (headers, blank rows)
+    private static final int NOT_A_QUEST = -2;
+    private static final Rectangle[] NO_ROWS = new Rectangle[0];
+
+    private final Client client;
+    private final RelicHunterSettingsStore settingsStore;
+    private final UnlockManager unlockManager;
+
+    // Per quest list row (child index): the text last seen, the quest it names and the quest unlock ordinal
+    // it resolved to. Valid for one build of the quest list against one database.
+    private Widget[] cachedRows;
+    private String[] cachedRowTexts = new String[0];
+    private Quest[] cachedRowQuests = new Quest[0];
+    private int[] cachedRowOrdinals = new int[0];
+    private UnlockIndex cachedIndex;
+
+    // What the last pass was applied against, to tell whether another pass is needed
+    private QuestRestrictionMode appliedMode;
+    private int appliedStateGeneration = -1;
+    private final Set<Widget> hiddenRows = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // Locked row bounds relative to the container, recorded at dimmedRowsScrollY
+    private Rectangle[] dimmedRows = NO_ROWS;
+    private int dimmedRowsScrollY;
+
+    @Inject
+    private QuestListRestrictor(Client client, RelicHunterSettingsStore settingsStore, UnlockManager unlockManager) {
+        this.client = client;
+        this.settingsStore = settingsStore;
+        this.unlockManager = unlockManager;
+    }
+
+    /** Called on WidgetLoaded; the quest list has just been built from scratch. */
+    public void onWidgetLoaded(int groupId) {
+        if (groupId == QUEST_LIST_GROUP_ID) {
+            cachedRows = null;
+            refresh();
+        }
+    }
+
+    /**
+     * Called on ScriptPostFired. The quest list scripts replace the row widgets when they rebuild the list,
+     * so only a changed child array triggers a pass; anything else costs one widget lookup.
+     */
+    public void onScriptPostFired() {
+        Widget container = getQuestListContainer();
+        if (container == null) {
+            return;
+        }
+        Widget[] rows = container.getChildren();
+        if (rows != null && (rows != cachedRows || rows.length != cachedRowTexts.length)) {
+            refresh();
+        }
+    }
+
+    /**
+     * Called once per game tick. Catches unlock, database and mode changes, and rows re-texted in place.
+     */
+    public void onGameTick() {
+        if (appliedMode != settingsStore.get().getQuestRestrictionMode()
+                || appliedStateGeneration != unlockManager.getStateGeneration()
+                || rowTextsChanged()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Runs a full restriction pass over the current quest list.
+     */
+    public void refresh() {
+        QuestRestrictionMode mode = settingsStore.get().getQuestRestrictionMode();
+        if (mode != QuestRestrictionMode.HIDE) {
+            restoreHiddenRows();
+        }
+        appliedMode = mode;
+        appliedStateGeneration = unlockManager.getStateGeneration();
+        dimmedRows = NO_ROWS;
+
+        Widget container = getQuestListContainer();
+        Widget[] rows = container != null ? container.getChildren() : null;
+        if (rows == null) {
+            // The rows are gone with the interface; whatever we hid went with them
+            hiddenRows.clear();
+            cachedRows = null;
+            return;
+        }
+        UnlockIndex index = unlockManager.getIndex();
+        if (rows != cachedRows || index != cachedIndex || rows.length != cachedRowTexts.length) {
+            resetRowCache(rows, index);
+        }
+        if (mode == QuestRestrictionMode.NONE) {
+            return;
+        }
+
+        Rectangle origin = container.getBounds();
+        List<Rectangle> locked = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            Widget row = rows[i];
+            if (row == null || row.getType() != WidgetType.TEXT) {
+                continue;
+            }
+            boolean hiddenByUs = hiddenRows.contains(row);
+            String text = row.getText();
+            if ((row.isHidden() && !hiddenByUs) || text == null || text.isEmpty()) {
+                continue;
+            }
+            int questOrdinal = resolveQuestOrdinal(i, text, index);
+            if (questOrdinal == NOT_A_QUEST) {
+                continue;
+            }
+            boolean restricted = !unlockManager.isQuestUnlocked(questOrdinal, cachedRowQuests[i]);
+
+            if (mode == QuestRestrictionMode.HIDE) {
+                if (restricted && !hiddenByUs) {
+                    row.setHidden(true);
+                    hiddenRows.add(row);
+                } else if (!restricted && hiddenByUs) {
+                    row.setHidden(false);
+                    hiddenRows.remove(row);
+                }
+            } else if (restricted && origin != null) {
+                Rectangle bounds = row.getBounds();
+                if (bounds != null && bounds.width > 0 && bounds.height > 0) {
+                    locked.add(new Rectangle(bounds.x - origin.x, bounds.y - origin.y, bounds.width, bounds.height));
+                }
+            }
+        }
+        dimmedRows = locked.toArray(NO_ROWS);
+        dimmedRowsScrollY = container.getScrollY();
+    }
+
+    /**
+     * Unhides every row this class hid and forgets the last pass. Call on shutdown.
+     */
+    public void reset() {
+        restoreHiddenRows();
+        dimmedRows = NO_ROWS;
+        cachedRows = null;
+        appliedMode = null;
+        appliedStateGeneration = -1;
+    }
+
+    /** @return Bounds of the locked rows relative to the quest list container, as of {@link #getDimmedRowsScrollY()}. */
+    public Rectangle[] getDimmedRows() {
+        return dimmedRows;
+    }
+
+    /** @return The container's scroll offset when {@link #getDimmedRows()} was recorded. */
+    public int getDimmedRowsScrollY() {
+        return dimmedRowsScrollY;
+    }
+
+    Widget getQuestListContainer() {
+        Widget container = client.getWidget(QUEST_LIST_GROUP_ID, QUEST_LIST_CONTAINER_CHILD_ID);
+        return container != null && !container.isHidden() ? container : null;
+    }
+
+    private void restoreHiddenRows() {
+        for (Widget row : hiddenRows) {
+            row.setHidden(false);
+        }
+        hiddenRows.clear();
+    }
+
+    private boolean rowTextsChanged() {
+        Widget[] rows = cachedRows;
+        if (rows == null) {
+            return false;
+        }
+        for (int i = 0; i < rows.length; i++) {
+            String cachedText = cachedRowTexts[i];
+            if (rows[i] != null && cachedText != null && !cachedText.equals(rows[i].getText())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void resetRowCache(Widget[] rows, UnlockIndex index) {
+        cachedRows = rows;
+        cachedIndex = index;
+        if (cachedRowTexts.length != rows.length) {
+            cachedRowTexts = new String[rows.length];
+            cachedRowQuests = new Quest[rows.length];
+            cachedRowOrdinals = new int[rows.length];
+        } else {
+            Arrays.fill(cachedRowTexts, null);
+        }
+    }
+
+    /**
+     * Gets the quest unlock ordinal for a quest list row, resolving the name only when the row's text changed.
+     * @return The ordinal, {@link UnlockIndex#NO_UNLOCK} for a quest missing from the database, or NOT_A_QUEST.
+     */
+    private int resolveQuestOrdinal(int row, String text, UnlockIndex index) {
+        if (!text.equals(cachedRowTexts[row])) {
+            Quest quest = findQuest(text);
+            cachedRowTexts[row] = text;
+            cachedRowQuests[row] = quest;
+            cachedRowOrdinals[row] = quest != null ? index.getQuestUnlockOrdinal(quest) : NOT_A_QUEST;
+        }
+        return cachedRowOrdinals[row];
+    }
+
+    /**
+     * Resolves quest list row text to a quest, ignoring case.
+     * @return The quest, or null if the text is not a quest name.
+     */
+    @Nullable
+    static Quest findQuest(String text) {
+        return QUESTS_BY_LOWER_CASE_NAME.get(text.toLowerCase(Locale.ROOT));
+    }
+
+    private static Map<String, Quest> buildQuestNameMap() {
+        Map<String, Quest> questsByName = new HashMap<>();
+        for (Quest q : Quest.values()) {
+            // putIfAbsent keeps the first match, as the old linear scan did
+            questsByName.putIfAbsent(q.getName().toLowerCase(Locale.ROOT), q);
+        }
+        return Collections.unmodifiableMap(questsByName);
+    }
+}
@@ -16,9 +16,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.runelite.api.Client;
 import net.runelite.api.ItemID;
@@ -35,6 +35,7 @@ import net.runelite.client.ui.overlay.OverlayPriority;
 import net.runelite.client.ui.overlay.OverlayUtil;
 // Removed BackgroundComponent import as we use an image now
 import net.runelite.client.ui.overlay.components.TextComponent;
+import net.runelite.client.util.AsyncBufferedImage;
 import net.runelite.client.util.ColorUtil;
 import net.runelite.client.util.ImageUtil;
 
@@ -56,26 +57,33 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
 
     private final Client client;
     private final RelicHunterPlugin plugin;
-    private final RelicHunterConfig config;
+    private final RelicHunterSettingsStore settingsStore;
     private final UnlockManager unlockManager;
     private final ItemManager itemManager;
     private final SpriteManager spriteManager;
 
-    @Setter
     private List<Unlockable> currentChoices = null;
     private final List<Rectangle> choiceBounds = new ArrayList<>();
     private net.runelite.api.Point mousePosition;
 
+    // Background, title and every card for currentChoices, rendered once; only borders are drawn per frame
+    private BufferedImage choicePanelImage;
+    // Set when the choices change or an icon finishes loading; the panel is re-rendered on the next frame
+    private volatile boolean choicePanelDirty;
+    // Y of the first card inside choicePanelImage
+    private int choicePanelCardsTop;
+
     private final Map<Integer, BufferedImage> spriteIconCache = new ConcurrentHashMap<>();
+    private final Set<Integer> requestedItemIcons = ConcurrentHashMap.newKeySet();
     private BufferedImage choiceBackgroundImage;
     private BufferedImage overlayBackgroundImage;
     private Rectangle overlayTotalBounds = null;
 
     @Inject
-    private RelicChoiceOverlay(Client client, RelicHunterPlugin plugin, RelicHunterConfig config, UnlockManager unlockManager, ItemManager itemManager, SpriteManager spriteManager) {
+    private RelicChoiceOverlay(Client client, RelicHunterPlugin plugin, RelicHunterSettingsStore settingsStore, UnlockManager unlockManager, ItemManager itemManager, SpriteManager spriteManager) {
         this.client = client;
         this.plugin = plugin;
-        this.config = config;
+        this.settingsStore = settingsStore;
         this.unlockManager = unlockManager;
         this.itemManager = itemManager;
         this.spriteManager = spriteManager;
@@ -122,6 +130,17 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
         this.currentChoices = null;
         this.choiceBounds.clear();
         this.overlayTotalBounds = null;
+        this.choicePanelImage = null;
+    }
+
+    /**
+     * Shows a new set of choices. The cards are laid out and rendered once, on the next frame.
+     */
+    public void setCurrentChoices(List<Unlockable> choices) {
+        this.currentChoices = choices;
+        this.choiceBounds.clear();
+        this.overlayTotalBounds = null;
+        this.choicePanelDirty = true;
     }
 
     public boolean hasChoices() {
@@ -130,9 +149,8 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
 
     @Override
     public Dimension render(Graphics2D graphics) {
-        log.trace("RelicChoiceOverlay render called. Has choices: {}, Config enabled: {}", hasChoices(), config.showChoiceOverlay());
-
-        if (!hasChoices() || !config.showChoiceOverlay()) {
+        List<Unlockable> choices = currentChoices;
+        if (choices == null || choices.isEmpty() || !settingsStore.get().isShowChoiceOverlay()) {
             overlayTotalBounds = null;
             return null;
         }
@@ -142,13 +160,15 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
             mousePosition = new net.runelite.api.Point(-1, -1);
         }
 
-        int choicesCount = currentChoices.size();
-        Font titleFont = FontManager.getRunescapeBoldFont();
-        FontMetrics fmTitle = graphics.getFontMetrics(titleFont);
-        int titleHeight = fmTitle.getHeight();
-        int totalContentHeight = titleHeight + (CHOICE_BOX_HEIGHT * choicesCount) + (CHOICE_BOX_SPACING * Math.max(0, choicesCount));
-        int totalHeight = PADDING + totalContentHeight + BOTTOM_PADDING;
-        int totalWidth = CHOICE_BOX_WIDTH + PADDING * 2;
+        BufferedImage panelImage = choicePanelImage;
+        if (choicePanelDirty || panelImage == null) {
+            choicePanelDirty = false;
+            panelImage = renderChoicePanel(graphics, choices);
+            choicePanelImage = panelImage;
+            log.trace("Rendered choice panel for {} choices.", choices.size());
+        }
+        int totalWidth = panelImage.getWidth();
+        int totalHeight = panelImage.getHeight();
 
         Dimension canvasSize = client.getRealDimensions();
         if (canvasSize == null) {
@@ -159,135 +179,171 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
         int startX = (canvasSize.width - totalWidth) / 2;
         int startY = (canvasSize.height - totalHeight) / 2;
 
-        this.overlayTotalBounds = new Rectangle(startX, startY, totalWidth, totalHeight);
-        log.trace("Calculated overlay bounds: {}", this.overlayTotalBounds);
+        // Bounds only move when the canvas is resized
+        if (overlayTotalBounds == null || overlayTotalBounds.x != startX || overlayTotalBounds.y != startY
+                || choiceBounds.size() != choices.size()) {
+            layoutChoiceBounds(startX, startY, totalWidth, totalHeight, choices.size());
+        }
 
-        // Draw the main overlay background image
-        if (overlayBackgroundImage != null) {
-            graphics.drawImage(overlayBackgroundImage, startX, startY, totalWidth, totalHeight, null);
-        } else {
-            graphics.setColor(new Color(50,50,50, 200));
-            graphics.fillRect(startX, startY, totalWidth, totalHeight);
-            graphics.setColor(Color.BLACK);
-            graphics.drawRect(startX, startY, totalWidth, totalHeight);
+        graphics.drawImage(panelImage, startX, startY, null);
+        for (Rectangle bounds : choiceBounds) {
+            boolean isHovered = bounds.contains(mousePosition.getX(), mousePosition.getY());
+            graphics.setColor(isHovered ? HOVER_BORDER_COLOR : BORDER_COLOR);
+            graphics.draw(bounds);
         }
+        return null;
+    }
 
-        // --- Draw Title and Choices ON TOP of the background ---
+    private void layoutChoiceBounds(int startX, int startY, int totalWidth, int totalHeight, int choicesCount) {
+        this.overlayTotalBounds = new Rectangle(startX, startY, totalWidth, totalHeight);
+        log.trace("Calculated overlay bounds: {}", this.overlayTotalBounds);
+        choiceBounds.clear();
+        int currentY = startY + choicePanelCardsTop;
+        for (int i = 0; i < choicesCount; i++) {
+            choiceBounds.add(new Rectangle(startX + PADDING, currentY, CHOICE_BOX_WIDTH, CHOICE_BOX_HEIGHT));
+            currentY += CHOICE_BOX_HEIGHT + CHOICE_BOX_SPACING;
+        }
+    }
 
-        String titleText = "Choose Your Unlock";
-        TextComponent titleComponent = new TextComponent();
-        titleComponent.setText(titleText);
-        titleComponent.setColor(TEXT_COLOR);
-        titleComponent.setFont(titleFont);
+    /**
+     * Renders the background, title and all choice cards into one image, with the panel's top-left at 0,0.
+     * @param graphics The overlay graphics, used for font metrics only.
+     */
+    private BufferedImage renderChoicePanel(Graphics2D graphics, List<Unlockable> choices) {
+        int choicesCount = choices.size();
+        Font titleFont = FontManager.getRunescapeBoldFont();
+        FontMetrics fmTitle = graphics.getFontMetrics(titleFont);
+        int titleHeight = fmTitle.getHeight();
+        int totalContentHeight = titleHeight + (CHOICE_BOX_HEIGHT * choicesCount) + (CHOICE_BOX_SPACING * Math.max(0, choicesCount));
+        int totalHeight = PADDING + totalContentHeight + BOTTOM_PADDING;
+        int totalWidth = CHOICE_BOX_WIDTH + PADDING * 2;
 
-        int titleWidth = fmTitle.stringWidth(titleText);
-        titleComponent.setPosition(new java.awt.Point(startX + (totalWidth - titleWidth) / 2, startY + PADDING + fmTitle.getAscent()));
-        titleComponent.render(graphics);
+        BufferedImage image = new BufferedImage(totalWidth, totalHeight, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHints(graphics.getRenderingHints());
 
-        int currentY = startY + PADDING + titleHeight + CHOICE_BOX_SPACING;
+            // Draw the main overlay background image
+            if (overlayBackgroundImage != null) {
+                g.drawImage(overlayBackgroundImage, 0, 0, totalWidth, totalHeight, null);
+            } else {
+                g.setColor(new Color(50,50,50, 200));
+                g.fillRect(0, 0, totalWidth, totalHeight);
+                g.setColor(Color.BLACK);
+                g.drawRect(0, 0, totalWidth - 1, totalHeight - 1);
+            }
 
-        choiceBounds.clear();
+            // --- Draw Title and Choices ON TOP of the background ---
 
-        for (int i = 0; i < choicesCount; i++) {
-            Unlockable choice = currentChoices.get(i);
-            int boxX = startX + PADDING;
-            int boxY = currentY;
-            Rectangle bounds = new Rectangle(boxX, boxY, CHOICE_BOX_WIDTH, CHOICE_BOX_HEIGHT);
-            choiceBounds.add(bounds);
+            String titleText = "Choose Your Unlock";
+            TextComponent titleComponent = new TextComponent();
+            titleComponent.setText(titleText);
+            titleComponent.setColor(TEXT_COLOR);
+            titleComponent.setFont(titleFont);
 
-            boolean isHovered = bounds.contains(mousePosition.getX(), mousePosition.getY());
+            int titleWidth = fmTitle.stringWidth(titleText);
+            titleComponent.setPosition(new java.awt.Point((totalWidth - titleWidth) / 2, PADDING + fmTitle.getAscent()));
+            titleComponent.render(g);
 
-            // Draw individual choice background (button.png)
-            if (choiceBackgroundImage != null) {
-                graphics.drawImage(choiceBackgroundImage, bounds.x, bounds.y, bounds.width, bounds.height, null);
-            } else {
-                graphics.setColor(new Color(80,80,80,220));
-                graphics.fill(bounds);
+            choicePanelCardsTop = PADDING + titleHeight + CHOICE_BOX_SPACING;
+            int currentY = choicePanelCardsTop;
+            for (Unlockable choice : choices) {
+                renderChoiceCard(g, choice, PADDING, currentY);
+                currentY += CHOICE_BOX_HEIGHT + CHOICE_BOX_SPACING;
             }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
 
-            graphics.setColor(isHovered ? HOVER_BORDER_COLOR : BORDER_COLOR);
-            graphics.draw(bounds);
+    /**
+     * Draws one choice card (background, icon, name and description) without its border.
+     */
+    private void renderChoiceCard(Graphics2D graphics, Unlockable choice, int boxX, int boxY) {
+        // Draw individual choice background (button.png)
+        if (choiceBackgroundImage != null) {
+            graphics.drawImage(choiceBackgroundImage, boxX, boxY, CHOICE_BOX_WIDTH, CHOICE_BOX_HEIGHT, null);
+        } else {
+            graphics.setColor(new Color(80,80,80,220));
+            graphics.fillRect(boxX, boxY, CHOICE_BOX_WIDTH, CHOICE_BOX_HEIGHT);
+        }
 
-            int iconX = boxX + PADDING;
-            int iconY = boxY + (CHOICE_BOX_HEIGHT - ICON_SIZE) / 2;
-            drawUnlockIcon(graphics, choice, iconX, iconY);
-
-            int textX = iconX + ICON_SIZE + PADDING;
-            int textStartY = boxY + PADDING;
-            Font smallBoldFont = FontManager.getRunescapeSmallFont().deriveFont(Font.BOLD);
-            Font smallFont = FontManager.getRunescapeSmallFont();
-            FontMetrics fmBold = graphics.getFontMetrics(smallBoldFont);
-            FontMetrics fmSmall = graphics.getFontMetrics(smallFont);
-
-            // Calculate available width for text inside the button
-            int textAvailableWidth = CHOICE_BOX_WIDTH - (iconX + ICON_SIZE - boxX) - PADDING - TEXT_RIGHT_MARGIN; // Width minus icon, left padding, right margin
-
-            // Draw Name (Truncate if needed)
-            graphics.setFont(smallBoldFont);
-            graphics.setColor(TEXT_COLOR);
-            String nameText = choice.getName();
-            if (fmBold.stringWidth(nameText) > textAvailableWidth) {
-                while (fmBold.stringWidth(nameText + "...") > textAvailableWidth && nameText.length() > 0) {
-                    nameText = nameText.substring(0, nameText.length() - 1);
-                }
-                nameText += "...";
+        int iconX = boxX + PADDING;
+        int iconY = boxY + (CHOICE_BOX_HEIGHT - ICON_SIZE) / 2;
+        drawUnlockIcon(graphics, choice, iconX, iconY);
+
+        int textX = iconX + ICON_SIZE + PADDING;
+        int textStartY = boxY + PADDING;
+        Font smallBoldFont = FontManager.getRunescapeSmallFont().deriveFont(Font.BOLD);
+        Font smallFont = FontManager.getRunescapeSmallFont();
+        FontMetrics fmBold = graphics.getFontMetrics(smallBoldFont);
+        FontMetrics fmSmall = graphics.getFontMetrics(smallFont);
+
+        // Calculate available width for text inside the button
+        int textAvailableWidth = CHOICE_BOX_WIDTH - (iconX + ICON_SIZE - boxX) - PADDING - TEXT_RIGHT_MARGIN; // Width minus icon, left padding, right margin
+
+        // Draw Name (Truncate if needed)
+        graphics.setFont(smallBoldFont);
+        graphics.setColor(TEXT_COLOR);
+        String nameText = choice.getName();
+        if (fmBold.stringWidth(nameText) > textAvailableWidth) {
+            while (fmBold.stringWidth(nameText + "...") > textAvailableWidth && nameText.length() > 0) {
+                nameText = nameText.substring(0, nameText.length() - 1);
             }
-            graphics.drawString(nameText, textX, textStartY + fmBold.getAscent());
+            nameText += "...";
+        }
+        graphics.drawString(nameText, textX, textStartY + fmBold.getAscent());
 
 
-            // Draw Description (Limited lines and truncated)
-            graphics.setFont(smallFont);
-            graphics.setColor(DESC_TEXT_COLOR);
-            int descY = textStartY + fmBold.getHeight() + 2; // Start below name
-            String[] words = choice.getDescription().split(" ");
-            StringBuilder line = new StringBuilder();
-            int linesDrawn = 0;
-            final int MAX_DESC_LINES = 2; // Limit description to 2 lines
+        // Draw Description (Limited lines and truncated)
+        graphics.setFont(smallFont);
+        graphics.setColor(DESC_TEXT_COLOR);
+        int descY = textStartY + fmBold.getHeight() + 2; // Start below name
+        String[] words = choice.getDescription().split(" ");
+        StringBuilder line = new StringBuilder();
+        int linesDrawn = 0;
+        final int MAX_DESC_LINES = 2; // Limit description to 2 lines
 
-            for (String word : words) {
-                if (linesDrawn >= MAX_DESC_LINES) break; // Stop if max lines reached
+        for (String word : words) {
+            if (linesDrawn >= MAX_DESC_LINES) break; // Stop if max lines reached
 
-                String testLine = line.length() > 0 ? line.toString() + " " + word : word;
-                if (fmSmall.stringWidth(testLine) <= textAvailableWidth) {
-                    // Word fits on the current line
-                    line.append(line.length() > 0 ? " " : "").append(word);
-                } else {
-                    // Word doesn't fit, draw the current line
-                    graphics.drawString(line.toString(), textX, descY + fmSmall.getAscent());
-                    linesDrawn++;
-                    descY += fmSmall.getHeight();
-                    line = new StringBuilder(word); // Start new line with the current word
-
-                    // Check if the new line itself is too long (unlikely for single words but safety check)
-                    if (linesDrawn < MAX_DESC_LINES && fmSmall.stringWidth(line.toString()) > textAvailableWidth) {
-                        while (fmSmall.stringWidth(line.toString() + "...") > textAvailableWidth && line.length() > 0) {
-                            line.setLength(line.length() - 1);
-                        }
-                        graphics.drawString(line.toString() + "...", textX, descY + fmSmall.getAscent());
-                        linesDrawn++; // Count the truncated line
-                        line.setLength(0); // Clear line as it was truncated
-                        break; // Stop processing words
+            String testLine = line.length() > 0 ? line.toString() + " " + word : word;
+            if (fmSmall.stringWidth(testLine) <= textAvailableWidth) {
+                // Word fits on the current line
+                line.append(line.length() > 0 ? " " : "").append(word);
+            } else {
+                // Word doesn't fit, draw the current line
+                graphics.drawString(line.toString(), textX, descY + fmSmall.getAscent());
+                linesDrawn++;
+                descY += fmSmall.getHeight();
+                line = new StringBuilder(word); // Start new line with the current word
+
+                // Check if the new line itself is too long (unlikely for single words but safety check)
+                if (linesDrawn < MAX_DESC_LINES && fmSmall.stringWidth(line.toString()) > textAvailableWidth) {
+                    while (fmSmall.stringWidth(line.toString() + "...") > textAvailableWidth && line.length() > 0) {
+                        line.setLength(line.length() - 1);
                     }
+                    graphics.drawString(line.toString() + "...", textX, descY + fmSmall.getAscent());
+                    linesDrawn++; // Count the truncated line
+                    line.setLength(0); // Clear line as it was truncated
+                    break; // Stop processing words
                 }
             }
-            // Draw the last remaining line if it's not empty and haven't exceeded max lines
-            if (line.length() > 0 && linesDrawn < MAX_DESC_LINES) {
-                graphics.drawString(line.toString(), textX, descY + fmSmall.getAscent());
-            }
-
-            currentY += CHOICE_BOX_HEIGHT + CHOICE_BOX_SPACING;
         }
-        log.trace("RelicChoiceOverlay render finished drawing {} choices.", choicesCount);
-        return null;
+        // Draw the last remaining line if it's not empty and haven't exceeded max lines
+        if (line.length() > 0 && linesDrawn < MAX_DESC_LINES) {
+            graphics.drawString(line.toString(), textX, descY + fmSmall.getAscent());
+        }
     }
 
     // --- MouseListener Implementation ---
 
     @Override
     public MouseEvent mouseClicked(MouseEvent mouseEvent) {
-        log.trace("RelicChoiceOverlay mouseClicked AWT event received at {}. Has choices: {}, Config enabled: {}", mouseEvent.getPoint(), hasChoices(), config.showChoiceOverlay());
+        log.trace("RelicChoiceOverlay mouseClicked AWT event received at {}. Has choices: {}, Config enabled: {}", mouseEvent.getPoint(), hasChoices(), settingsStore.get().isShowChoiceOverlay());
 
-        if (!hasChoices() || !config.showChoiceOverlay()) {
+        if (!hasChoices() || !settingsStore.get().isShowChoiceOverlay()) {
             return mouseEvent; // Don't handle if not visible/active
         }
 
@@ -326,7 +382,7 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
     @Override
     public MouseEvent mousePressed(MouseEvent mouseEvent) {
         // Consume press events within the overlay bounds to prevent click-through
-        if (hasChoices() && config.showChoiceOverlay() && this.overlayTotalBounds != null) {
+        if (hasChoices() && settingsStore.get().isShowChoiceOverlay() && this.overlayTotalBounds != null) {
             if (this.overlayTotalBounds.contains(mouseEvent.getX(), mouseEvent.getY())) {
                 log.trace("mousePressed event consumed by RelicChoiceOverlay bounds check");
                 mouseEvent.consume();
@@ -338,7 +394,7 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
     @Override
     public MouseEvent mouseReleased(MouseEvent mouseEvent) {
         // Consume release events within the overlay bounds as well
-        if (hasChoices() && config.showChoiceOverlay() && this.overlayTotalBounds != null) {
+        if (hasChoices() && settingsStore.get().isShowChoiceOverlay() && this.overlayTotalBounds != null) {
             if (this.overlayTotalBounds.contains(mouseEvent.getX(), mouseEvent.getY())) {
                 log.trace("mouseReleased event consumed by RelicChoiceOverlay bounds check");
                 mouseEvent.consume();
@@ -379,6 +435,8 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
                         spriteManager.getSpriteAsync(spriteId, 0, img -> {
                             if (img != null) {
                                 spriteIconCache.put(spriteId, img);
+                                // Re-render the cards with the real icon instead of the placeholder
+                                choicePanelDirty = true;
                             } else {
                                 log.warn("Failed to load sprite for skill: {}", skill);
                             }
@@ -397,7 +455,12 @@ public class RelicChoiceOverlay extends Overlay implements MouseListener {
             case SPECIFIC_ITEM:
                 if (unlockData.getItemIds() != null && !unlockData.getItemIds().isEmpty()) {
                     int itemId = unlockData.getItemIds().iterator().next();
-                    icon = itemManager.getImage(itemId, 1, false);
+                    AsyncBufferedImage itemImage = itemManager.getImage(itemId, 1, false);
+                    if (itemImage != null && requestedItemIcons.add(itemId)) {
+                        // The image may still be blank; re-render the cards once it has loaded
+                        itemImage.onLoaded(() -> choicePanelDirty = true);
+                    }
+                    icon = itemImage;
                     if (icon == null) {
                         log.warn("Failed to get image for item ID: {}", itemId);
                         drawPlaceholderIcon(graphics, unlockData.getCategory() == UnlockType.GEAR_TIER ? "G" : "It", x, y);
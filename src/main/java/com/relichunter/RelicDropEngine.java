@@ -0,0 +1,107 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/RelicDropEngine.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Skill;
+
+import javax.inject.Inject;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Decides relic drops from typed event values: an XP drop in a skill, a kill of an NPC of some combat level,
+ * or a completed clue of some tier.
+ * <p>
+ * The engine reads no Client state, config or chat; it only combines {@link RelicDropRules}, the current
+ * unlock availability, {@link TierRoller} and the per-source streams of {@link RelicRandom}, and returns a
+ * {@link DropDecision} for the caller to apply. The plugin feeds it RuneLite events, the offline simulator
+ * feeds it synthetic ones. Like {@link RelicRandom#forSource}, it must be called from one thread at a time.
+ */
+@Slf4j
+@Singleton
+public class RelicDropEngine {
+
+    /**
+     * Number of unlocks a relic of the given type and tier could currently roll.
+     */
+    @FunctionalInterface
+    public interface AvailableUnlocks {
+        int count(RelicType type, SkillTier tier);
+    }
+
+    private final Supplier<RelicHunterSettings> settings;
+    private final TierRoller tierRoller;
+    private final RelicRandom relicRandom;
+    private final AvailableUnlocks availableUnlocks;
+
+    @Inject
+    private RelicDropEngine(RelicHunterSettingsStore settingsStore, TierRoller tierRoller, RelicRandom relicRandom,
+                            UnlockManager unlockManager) {
+        // Maintained by UnlockManager on every unlock change; no filtering per event
+        this(settingsStore::get, tierRoller, relicRandom, unlockManager::getAvailableUnlockCount);
+    }
+
+    public RelicDropEngine(Supplier<RelicHunterSettings> settings, TierRoller tierRoller, RelicRandom relicRandom,
+                           AvailableUnlocks availableUnlocks) {
+        this.settings = settings;
+        this.tierRoller = tierRoller;
+        this.relicRandom = relicRandom;
+        this.availableUnlocks = availableUnlocks;
+    }
+
+    /**
+     * Rolls for a skilling relic on an XP drop.
+     * @param xpGained XP gained in this drop; the caller decides which gains count (e.g. not right after login).
+     */
+    public DropDecision onXpGained(Skill skill, int xpGained) {
+        if (!RelicDropRules.isSkillingRelicSkill(skill)) {
+            return DropDecision.ineligible(RelicSource.SKILLING);
+        }
+        return roll(RelicSource.SKILLING, RelicDropRules.maxTierForXpDrop(settings.get(), xpGained), true);
+    }
+
+    /**
+     * Rolls for a combat relic on a kill.
+     */
+    public DropDecision onNpcKilled(int combatLevel) {
+        return roll(RelicSource.COMBAT, RelicDropRules.maxTierForNpcLevel(settings.get(), combatLevel), true);
+    }
+
+    /**
+     * Rolls for an exploration relic on a completed clue. The relic is always of the clue's tier.
+     * @param clueTier The lower-case tier name from the completion message ("easy", "hard", ...).
+     */
+    public DropDecision onClueCompleted(String clueTier) {
+        return roll(RelicSource.EXPLORATION, RelicDropRules.relicTierForClue(clueTier), false);
+    }
+
+    static RelicType relicTypeFor(RelicSource source) {
+        switch (source) {
+            case SKILLING: return RelicType.SKILLING;
+            case COMBAT:   return RelicType.COMBAT;
+            default:       return RelicType.EXPLORATION;
+        }
+    }
+
+    private DropDecision roll(RelicSource source, SkillTier maxTier, boolean rollTier) {
+        if (maxTier == null || maxTier == SkillTier.LOCKED) {
+            return DropDecision.ineligible(source);
+        }
+        int available = availableUnlocks.count(relicTypeFor(source), maxTier);
+        if (available <= 0) {
+            return DropDecision.noUnlocksAvailable(source, maxTier);
+        }
+        int rollThreshold = RelicDropRules.rollThreshold(settings.get(), source, available);
+        SplittableRandom rng = relicRandom.forSource(source);
+        SkillTier tier = null;
+        if (rng.nextInt(rollThreshold) == 0) {
+            // The tier roll draws from the same source stream, right after the drop roll
+            tier = rollTier ? tierRoller.roll(maxTier, rng) : maxTier;
+            if (tier == null) {
+                log.warn("Weighted tier roll returned null for max tier {}", maxTier);
+            }
+        }
+        return DropDecision.rolled(source, maxTier, available, rollThreshold, tier);
+    }
+}
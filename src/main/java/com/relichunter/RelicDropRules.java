@@ -0,0 +1,163 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/RelicDropRules.java
+package com.relichunter;
+
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockIndex;
+import net.runelite.api.Skill;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The rules that decide whether an event can drop a relic, of which tier, and at what odds.
+ * <p>
+ * Everything here is a function of its arguments (the settings snapshot, the event values, the unlock state
+ * and, for activation choices, the {@link RelicRandom} streams), with no Client, config or chat access, so the
+ * plugin and the offline progression simulator apply exactly the same rules.
+ */
+public final class RelicDropRules {
+
+    /** How many unlocks an activation offers to choose from. */
+    public static final int CHOICES_OFFERED = 3;
+
+    // Used when a configured base chance is not positive
+    private static final int DEFAULT_SKILLING_BASE_CHANCE = 500;
+    private static final int DEFAULT_COMBAT_BASE_CHANCE = 200;
+    private static final int DEFAULT_EXPLORATION_BASE_CHANCE = 10;
+
+    private RelicDropRules() {
+    }
+
+    /**
+     * @return true if XP in the given skill can drop a skilling relic. Combat skills, Hitpoints and Overall never do.
+     */
+    public static boolean isSkillingRelicSkill(Skill skill) {
+        switch (skill) {
+            case ATTACK: case STRENGTH: case DEFENCE: case RANGED: case PRAYER: case MAGIC:
+            case HITPOINTS: case OVERALL:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Gets the highest tier a skilling relic can have for one XP drop.
+     * @return The tier, or null if the drop is below the Apprentice minimum.
+     */
+    @Nullable
+    public static SkillTier maxTierForXpDrop(RelicHunterSettings settings, int xpGained) {
+        if (xpGained < settings.getSkillingRelicMinXp(SkillTier.APPRENTICE)) return null;
+
+        if (xpGained >= settings.getSkillingRelicMinXp(SkillTier.GRANDMASTER)) return SkillTier.GRANDMASTER;
+        if (xpGained >= settings.getSkillingRelicMinXp(SkillTier.MASTER)) return SkillTier.MASTER;
+        if (xpGained >= settings.getSkillingRelicMinXp(SkillTier.EXPERT)) return SkillTier.EXPERT;
+        if (xpGained >= settings.getSkillingRelicMinXp(SkillTier.JOURNEYMAN)) return SkillTier.JOURNEYMAN;
+        return SkillTier.APPRENTICE;
+    }
+
+    /**
+     * Gets the highest tier a combat relic can have for a kill of the given combat level.
+     * @return The tier, or null for a level of zero or less.
+     */
+    @Nullable
+    public static SkillTier maxTierForNpcLevel(RelicHunterSettings settings, int npcLevel) {
+        if (npcLevel <= 0) return null;
+        if (npcLevel > settings.getCombatRelicNpcLevel(SkillTier.MASTER)) return SkillTier.GRANDMASTER;
+        if (npcLevel > settings.getCombatRelicNpcLevel(SkillTier.EXPERT)) return SkillTier.MASTER;
+        if (npcLevel > settings.getCombatRelicNpcLevel(SkillTier.JOURNEYMAN)) return SkillTier.EXPERT;
+        if (npcLevel > settings.getCombatRelicNpcLevel(SkillTier.APPRENTICE)) return SkillTier.JOURNEYMAN;
+        return SkillTier.APPRENTICE;
+    }
+
+    /**
+     * Gets the exploration relic tier for a completed clue scroll.
+     * @param clueTier The lower-case tier name from the completion message ("easy", "hard", ...).
+     * @return The tier, or null for beginner clues and names that are not clue tiers.
+     */
+    @Nullable
+    public static SkillTier relicTierForClue(String clueTier) {
+        switch (clueTier) {
+            case "easy":   return SkillTier.APPRENTICE;
+            case "medium": return SkillTier.JOURNEYMAN;
+            case "hard":   return SkillTier.EXPERT;
+            case "elite":  return SkillTier.MASTER;
+            case "master": return SkillTier.GRANDMASTER;
+            default:       return null;
+        }
+    }
+
+    /**
+     * Gets the configured base chance (the X in 1 in X) for a relic source, before scaling.
+     */
+    public static int baseChance(RelicHunterSettings settings, RelicSource source) {
+        int baseChance;
+        int fallback;
+        switch (source) {
+            case SKILLING:
+                baseChance = settings.getSkillingRelicBaseChance();
+                fallback = DEFAULT_SKILLING_BASE_CHANCE;
+                break;
+            case COMBAT:
+                baseChance = settings.getCombatRelicBaseChance();
+                fallback = DEFAULT_COMBAT_BASE_CHANCE;
+                break;
+            default:
+                baseChance = settings.getExplorationRelicBaseChance();
+                fallback = DEFAULT_EXPLORATION_BASE_CHANCE;
+                break;
+        }
+        return baseChance > 0 ? baseChance : fallback;
+    }
+
+    /**
+     * Gets the X in the 1 in X drop chance. With scaling enabled the base chance is divided by the number of
+     * unlocks still available, so the more there is left to unlock, the likelier a drop.
+     * @param availableUnlocks Unlocks a relic of the eligible tier could currently roll; must be positive.
+     */
+    public static int rollThreshold(RelicHunterSettings settings, RelicSource source, int availableUnlocks) {
+        int baseChance = baseChance(settings, source);
+        return settings.isEnableScalingDropRate()
+                ? Math.max(1, baseChance / availableUnlocks)
+                : baseChance;
+    }
+
+    /**
+     * Collects the unlocks a relic of the given type and tier could roll: not unlocked yet, prerequisites met.
+     * @param unlocked Unlocked ordinals as BitSet words.
+     * @param out Receives the ordinals; must hold at least {@code index.getPotentialUnlockOrdinals(type, tier).length}.
+     * @return How many ordinals were written to {@code out}.
+     */
+    public static int collectRollableOrdinals(UnlockIndex index, long[] unlocked, RelicType type, SkillTier tier, int[] out) {
+        int count = 0;
+        for (int ordinal : index.getPotentialUnlockOrdinals(type, tier)) {
+            if (!UnlockIndex.isSet(unlocked, ordinal) && index.arePrerequisitesMet(ordinal, unlocked)) {
+                out[count++] = ordinal;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Picks the unlocks an activation offers: the rollable unlocks of the relic's type and tier
+     * (see {@link #collectRollableOrdinals}), shuffled with the choice stream of {@code random}, of which
+     * the first {@link #CHOICES_OFFERED} are kept.
+     * @param unlocked Unlocked ordinals as BitSet words.
+     * @return A new list; empty if nothing can be rolled.
+     */
+    public static List<UnlockData> offerChoices(UnlockIndex index, long[] unlocked, RelicType type, SkillTier tier,
+                                                RelicRandom random) {
+        int[] rollable = new int[index.getPotentialUnlockOrdinals(type, tier).length];
+        int count = collectRollableOrdinals(index, unlocked, type, tier, rollable);
+        List<UnlockData> choices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            choices.add(index.getUnlockByOrdinal(rollable[i]));
+        }
+        random.shuffle(choices);
+        if (choices.size() > CHOICES_OFFERED) {
+            choices.subList(CHOICES_OFFERED, choices.size()).clear();
+        }
+        return choices;
+    }
+}
@@ -29,7 +29,7 @@ public interface RelicHunterConfig extends Config
             name = "Relic Counts",
             description = "Tracks the number of each Relic type and tier currently held.",
             position = 0,
-            closedByDefault = false
+            closedByDefault = true
     )
     String relicCountsSection = "relicCounts";
 
@@ -87,75 +87,15 @@ public interface RelicHunterConfig extends Config
     @ConfigItem(
             keyName = "useF2PDatabase",
             name = "Use F2P Unlock Database",
-            description = "Check this box to use the F2P unlock database. Uncheck for the default (P2P) database. Requires plugin restart or reload.",
+            description = "Check this box to use the F2P unlock database. Uncheck for the default (P2P) database. Takes effect immediately.",
             position = -1,
             section = generalSection
     )
     default boolean useF2PDatabase() { return false; }
 
-
-    // --- Tiered Relic Counts ---
-    @ConfigItem(keyName = "skillingRelicsApprentice", name = "Skilling (Apprentice)", description = "Number of Apprentice Skilling Relics held.", position = 1, section = relicCountsSection)
-    default int skillingRelicsApprentice() { return 0; }
-    void setSkillingRelicsApprentice(int count);
-
-    @ConfigItem(keyName = "skillingRelicsJourneyman", name = "Skilling (Journeyman)", description = "Number of Journeyman Skilling Relics held.", position = 2, section = relicCountsSection)
-    default int skillingRelicsJourneyman() { return 0; }
-    void setSkillingRelicsJourneyman(int count);
-
-    @ConfigItem(keyName = "skillingRelicsExpert", name = "Skilling (Expert)", description = "Number of Expert Skilling Relics held.", position = 3, section = relicCountsSection)
-    default int skillingRelicsExpert() { return 0; }
-    void setSkillingRelicsExpert(int count);
-
-    @ConfigItem(keyName = "skillingRelicsMaster", name = "Skilling (Master)", description = "Number of Master Skilling Relics held.", position = 4, section = relicCountsSection)
-    default int skillingRelicsMaster() { return 0; }
-    void setSkillingRelicsMaster(int count);
-
-    @ConfigItem(keyName = "skillingRelicsGrandmaster", name = "Skilling (Grandmaster)", description = "Number of Grandmaster Skilling Relics held.", position = 5, section = relicCountsSection)
-    default int skillingRelicsGrandmaster() { return 0; }
-    void setSkillingRelicsGrandmaster(int count);
-
-
-    @ConfigItem(keyName = "combatRelicsApprentice", name = "Combat (Apprentice)", description = "Number of Apprentice Combat Relics held.", position = 6, section = relicCountsSection)
-    default int combatRelicsApprentice() { return 0; }
-    void setCombatRelicsApprentice(int count);
-
-    @ConfigItem(keyName = "combatRelicsJourneyman", name = "Combat (Journeyman)", description = "Number of Journeyman Combat Relics held.", position = 7, section = relicCountsSection)
-    default int combatRelicsJourneyman() { return 0; }
-    void setCombatRelicsJourneyman(int count);
-
-    @ConfigItem(keyName = "combatRelicsExpert", name = "Combat (Expert)", description = "Number of Expert Combat Relics held.", position = 8, section = relicCountsSection)
-    default int combatRelicsExpert() { return 0; }
-    void setCombatRelicsExpert(int count);
-
-    @ConfigItem(keyName = "combatRelicsMaster", name = "Combat (Master)", description = "Number of Master Combat Relics held.", position = 9, section = relicCountsSection)
-    default int combatRelicsMaster() { return 0; }
-    void setCombatRelicsMaster(int count);
-
-    @ConfigItem(keyName = "combatRelicsGrandmaster", name = "Combat (Grandmaster)", description = "Number of Grandmaster Combat Relics held.", position = 10, section = relicCountsSection)
-    default int combatRelicsGrandmaster() { return 0; }
-    void setCombatRelicsGrandmaster(int count);
-
-
-    @ConfigItem(keyName = "explorationRelicsApprentice", name = "Exploration (Apprentice)", description = "Number of Apprentice Exploration Relics held.", position = 11, section = relicCountsSection)
-    default int explorationRelicsApprentice() { return 0; }
-    void setExplorationRelicsApprentice(int count);
-
-    @ConfigItem(keyName = "explorationRelicsJourneyman", name = "Exploration (Journeyman)", description = "Number of Journeyman Exploration Relics held.", position = 12, section = relicCountsSection)
-    default int explorationRelicsJourneyman() { return 0; }
-    void setExplorationRelicsJourneyman(int count);
-
-    @ConfigItem(keyName = "explorationRelicsExpert", name = "Exploration (Expert)", description = "Number of Expert Exploration Relics held.", position = 13, section = relicCountsSection)
-    default int explorationRelicsExpert() { return 0; }
-    void setExplorationRelicsExpert(int count);
-
-    @ConfigItem(keyName = "explorationRelicsMaster", name = "Exploration (Master)", description = "Number of Master Exploration Relics held.", position = 14, section = relicCountsSection)
-    default int explorationRelicsMaster() { return 0; }
-    void setExplorationRelicsMaster(int count);
-
-    @ConfigItem(keyName = "explorationRelicsGrandmaster", name = "Exploration (Grandmaster)", description = "Number of Grandmaster Exploration Relics held.", position = 15, section = relicCountsSection)
-    default int explorationRelicsGrandmaster() { return 0; }
-    void setExplorationRelicsGrandmaster(int count);
+    // --- Relic Counts ---
+    @ConfigItem(keyName = RelicInventory.CONFIG_KEY, name = "Relic Counts", description = "Relics held per type, Apprentice to Grandmaster, e.g. SKILLING=1,0,0,0,0;COMBAT=0,2,0,0,0;EXPLORATION=0,0,0,0,0. Edit to correct the counts by hand.", position = 1, section = relicCountsSection)
+    default String relicInventory() { return ""; }
 
 
     // --- Progression Tiers ---
@@ -291,25 +231,48 @@ public interface RelicHunterConfig extends Config
     @ConfigItem(keyName = "explorationRelicBaseChance", name = "Exploration Base Chance (1 in X)", description = "Base denominator for exploration relic chance (from clues). If scaling is enabled, this is divided by the available unlock count for the clue's tier.", position = 41, section = acquisitionSection)
     default int explorationRelicBaseChance() { return 10; }
 
+    @Range(min = 0, max = 1000)
+    @ConfigItem(keyName = "apprenticeTierWeight", name = "Tier Weight (Apprentice)", description = "Relative chance of a relic drop being Apprentice tier, among the tiers the drop can reach.", position = 42, section = acquisitionSection)
+    default int apprenticeTierWeight() { return 100; }
+
+    @Range(min = 0, max = 1000)
+    @ConfigItem(keyName = "journeymanTierWeight", name = "Tier Weight (Journeyman)", description = "Relative chance of a relic drop being Journeyman tier, among the tiers the drop can reach.", position = 43, section = acquisitionSection)
+    default int journeymanTierWeight() { return 50; }
+
+    @Range(min = 0, max = 1000)
+    @ConfigItem(keyName = "expertTierWeight", name = "Tier Weight (Expert)", description = "Relative chance of a relic drop being Expert tier, among the tiers the drop can reach.", position = 44, section = acquisitionSection)
+    default int expertTierWeight() { return 25; }
+
+    @Range(min = 0, max = 1000)
+    @ConfigItem(keyName = "masterTierWeight", name = "Tier Weight (Master)", description = "Relative chance of a relic drop being Master tier, among the tiers the drop can reach.", position = 45, section = acquisitionSection)
+    default int masterTierWeight() { return 10; }
+
+    @Range(min = 0, max = 1000)
+    @ConfigItem(keyName = "grandmasterTierWeight", name = "Tier Weight (Grandmaster)", description = "Relative chance of a relic drop being Grandmaster tier, among the tiers the drop can reach.", position = 46, section = acquisitionSection)
+    default int grandmasterTierWeight() { return 5; }
+
 
     // --- Visual Overlays ---
     @ConfigItem( keyName = "showItemRestrictions", name = "Highlight Restricted Items", description = "Enable to visually tint items you cannot currently use.", position = 51, section = visualOverlaysSection )
     default boolean showItemRestrictions() { return true; }
     void setShowItemRestrictions(boolean show);
 
+    @ConfigItem( keyName = "itemRestrictionStyle", name = "Restriction Style", description = "How restricted items are marked: a color tint over the item, or a small lock icon.", position = 52, section = visualOverlaysSection )
+    default ItemRestrictionStyle itemRestrictionStyle() { return ItemRestrictionStyle.TINT; }
+
     @Alpha
-    @ConfigItem( keyName = "itemRestrictionColor", name = "Restriction Tint Color", description = "Color used to tint restricted items.", position = 52, section = visualOverlaysSection )
+    @ConfigItem( keyName = "itemRestrictionColor", name = "Restriction Tint Color", description = "Color used to tint restricted items.", position = 53, section = visualOverlaysSection )
     default Color itemRestrictionColor() { return new Color(255, 0, 0, 100); }
     void setItemRestrictionColor(Color color);
 
-    @ConfigItem( keyName = "showSkillTierVisuals", name = "Show Skill Tier Visuals", description = "Enable to show tier status (Locked tint, level cap) on the Skills tab.", position = 53, section = visualOverlaysSection )
+    @ConfigItem( keyName = "showSkillTierVisuals", name = "Show Skill Tier Visuals", description = "Enable to show tier status (Locked tint, level cap) on the Skills tab.", position = 54, section = visualOverlaysSection )
     default boolean showSkillTierVisuals() { return true; }
 
     @ConfigItem(
             keyName = "questRestrictionMode",
             name = "Quest Log Restriction",
             description = "How to display quests in the quest log that are not yet unlocked by the plugin.",
-            position = 54,
+            position = 55,
             section = visualOverlaysSection
     )
     default QuestRestrictionMode questRestrictionMode() { return QuestRestrictionMode.DIM; }
@@ -318,7 +281,7 @@ public interface RelicHunterConfig extends Config
             keyName = "showChoiceOverlay",
             name = "Show Choice Overlay",
             description = "Display the relic choices as an overlay on the game screen instead of in the side panel.",
-            position = 55,
+            position = 56,
             section = visualOverlaysSection
     )
     default boolean showChoiceOverlay() { return true; }
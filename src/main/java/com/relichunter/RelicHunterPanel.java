@@ -43,6 +43,7 @@ public class RelicHunterPanel extends PluginPanel {
     private final RelicHunterPlugin plugin;
     private final RelicHunterConfig config;
     private final UnlockManager unlockManager;
+    private final UnlockStateStore unlockStateStore;
     private final ItemManager itemManager;
     private final SpriteManager spriteManager;
 
@@ -76,12 +77,14 @@ public class RelicHunterPanel extends PluginPanel {
     public RelicHunterPanel(RelicHunterPlugin plugin,
                             RelicHunterConfig config,
                             UnlockManager unlockManager,
+                            UnlockStateStore unlockStateStore,
                             ItemManager itemManager,
                             SpriteManager spriteManager) {
         super(false);
         this.plugin = plugin;
         this.config = config;
         this.unlockManager = unlockManager;
+        this.unlockStateStore = unlockStateStore;
         this.itemManager = itemManager;
         this.spriteManager = spriteManager;
 
@@ -395,6 +398,8 @@ public class RelicHunterPanel extends PluginPanel {
                     if (label != null) {
                         label.setText(String.valueOf(count));
                         label.setForeground(count > 0 ? ColorScheme.PROGRESS_COMPLETE_COLOR : ColorScheme.LIGHT_GRAY_COLOR);
+                        label.setToolTipText(String.format("%.1f%% of drops that can reach Grandmaster are %s",
+                                plugin.getTierProbability(SkillTier.GRANDMASTER, tier) * 100, tier.getDisplayName()));
                     }
                 }
             }
@@ -413,7 +418,7 @@ public class RelicHunterPanel extends PluginPanel {
                 configureLabel(errorLabel);
                 unlockedItemsPanel.add(errorLabel);
             } else {
-                Set<String> unlockedIds = config.unlockedRelics();
+                Set<String> unlockedIds = unlockStateStore.getUnlockedIds();
                 if (unlockedIds.isEmpty()) {
                     JLabel noneLabel = new JLabel("  None");
                     configureLabel(noneLabel);
@@ -470,7 +475,7 @@ public class RelicHunterPanel extends PluginPanel {
                 return;
             }
             try {
-                GearTier meleeTier = config.meleeGearTier();
+                GearTier meleeTier = plugin.getMeleeGearTier();
                 meleeGearTierLabel.setText(String.format("Melee Gear: %s", meleeTier.getDisplayName()));
                 meleeGearTierLabel.setToolTipText(meleeTier.getDescription());
                 meleeGearTierLabel.setForeground(getTierColor(meleeTier));
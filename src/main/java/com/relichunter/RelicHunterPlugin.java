@@ -4,7 +4,11 @@ package com.relichunter;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockDatabaseCodec;
+import com.relichunter.unlock.UnlockDataInterner;
 import com.relichunter.unlock.UnlockDatabaseRoot;
+import com.relichunter.unlock.UnlockDatabaseVariant;
+import com.relichunter.unlock.UnlockIndex;
 import com.relichunter.unlock.UnlockType;
 import com.google.inject.Provides;
 import javax.inject.Inject;
@@ -16,9 +20,13 @@ import net.runelite.api.coords.WorldPoint;
 import net.runelite.api.events.ChatMessage;
 import net.runelite.api.events.GameStateChanged;
 import net.runelite.api.events.GameTick;
+import net.runelite.api.events.ItemContainerChanged;
 import net.runelite.api.events.MenuOptionClicked;
 import net.runelite.api.events.NpcDespawned;
+import net.runelite.api.events.ScriptPostFired;
 import net.runelite.api.events.StatChanged;
+import net.runelite.api.events.WidgetClosed;
+import net.runelite.api.events.WidgetLoaded;
 import net.runelite.api.widgets.Widget;
 import net.runelite.api.widgets.WidgetInfo;
 import net.runelite.api.widgets.WidgetItem;
@@ -43,20 +51,19 @@ import javax.swing.*;
 import java.awt.Color;
 // Removed MouseEvent import
 import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -87,17 +94,26 @@ public class RelicHunterPlugin extends Plugin
     @Inject private ItemRestrictionOverlay itemRestrictionOverlay;
     @Inject private SkillTabOverlay skillTabOverlay;
     @Inject private QuestLogOverlay questLogOverlay;
+    @Inject private QuestListRestrictor questListRestrictor;
+    @Inject private ItemRestrictionCache itemRestrictionCache;
     @Inject private RelicChoiceOverlay relicChoiceOverlay;
     @Inject private ClientThread clientThread;
     @Inject private ItemManager itemManager;
     @Inject private UnlockManager unlockManager;
+    @Inject private RelicHunterSettingsStore settingsStore;
+    @Inject private RelicInventory relicInventory;
+    @Inject private ProgressionRepository progressionRepository;
+    @Inject private TierRoller tierRoller;
+    @Inject private RelicRandom relicRandom;
+    @Inject private RelicDropEngine dropEngine;
+    @Inject private UnlockStateStore unlockStateStore;
     @Inject private SpriteManager spriteManager;
     @Inject private MouseManager mouseManager; // Keep MouseManager injection
+    @Inject private ScheduledExecutorService executor;
 
     // Plugin State
     private RelicHunterPanel panel;
     private NavigationButton navButton;
-    private final Random random = new Random();
     private boolean initialPanelUpdateDone = false;
     private int lastPlayerRegionId = -1;
     private final Map<Skill, Integer> previousSkillXp = new EnumMap<>(Skill.class);
@@ -112,15 +128,21 @@ public class RelicHunterPlugin extends Plugin
     private static final int UNLOCK_GRAPHIC_ID = 1414;
     private static final int RELIC_DROP_GRAPHIC_ID = 111;
     private static final int RELIC_DROP_SOUND_ID = 202;
+    // Roughly once a minute
+    private static final int ITEM_CACHE_STATS_INTERVAL_TICKS = 100;
     private static final int RELIC_UNLOCK_CONFIRM_SOUND_ID = 202;
 
 
     @Override
     protected void startUp() throws Exception {
         log.info("Relic Hunter Helper starting up...");
-        loadUnlockDatabase();
+        settingsStore.reload();
+        relicInventory.load();
+        progressionRepository.load();
+        unlockManager.selectDatabase(selectedDatabaseVariant());
+        loadUnlockDatabases();
 
-        panel = new RelicHunterPanel(this, config, unlockManager, itemManager, spriteManager);
+        panel = new RelicHunterPanel(this, config, unlockManager, unlockStateStore, itemManager, spriteManager);
 
         final BufferedImage icon = ImageUtil.loadImageResource(getClass(), "/clue_scroll.png");
         navButton = NavigationButton.builder()
@@ -172,7 +194,13 @@ public class RelicHunterPlugin extends Plugin
         lastPlayerRegionId = -1;
         previousSkillXp.clear();
         recentlyProcessedNpcs.clear();
+        clientThread.invoke(() -> {
+            questListRestrictor.reset();
+            itemRestrictionCache.clear();
+        });
+        progressionRepository.flush();
         unlockManager.clearDatabase();
+        unlockStateStore.clear();
         relicChoiceOverlay.clearChoices();
     }
 
@@ -189,32 +217,98 @@ public class RelicHunterPlugin extends Plugin
         loginTick = false;
     }
 
-    private void loadUnlockDatabase() {
-        String dbPath = config.useF2PDatabase() ? F2P_DB_PATH : P2P_DB_PATH;
-        log.info("Loading unlock database from JSON: {}", dbPath);
-        try (InputStream is = getClass().getResourceAsStream(dbPath)) {
-            if (is == null) {
-                log.error("Could not find unlock database JSON file at path: {}", dbPath);
-                sendChatMessage("Error: Failed to load essential unlock data. Plugin may not function correctly.", ChatMessageType.CONSOLE);
-                unlockManager.loadData(Collections.emptyList());
-                return;
+    /**
+     * Reads and indexes both unlock databases on the background executor,
+     * then swaps them into the UnlockManager in one step. Until then every reader keeps using the previous
+     * database. Afterwards, switching databases is just {@link UnlockManager#selectDatabase}.
+     */
+    private void loadUnlockDatabases() {
+        int loadTicket = unlockManager.beginLoad();
+        executor.execute(() -> {
+            long startNanos = System.nanoTime();
+            // One interner for both files, so entries, strings and item sets they share are stored once
+            UnlockDataInterner interner = new UnlockDataInterner();
+            List<UnlockData> p2pUnlocks = readUnlockDatabase(P2P_DB_PATH, interner);
+            List<UnlockData> f2pUnlocks = readUnlockDatabase(F2P_DB_PATH, interner);
+
+            Map<UnlockDatabaseVariant, UnlockIndex> indexes = new EnumMap<>(UnlockDatabaseVariant.class);
+            indexes.put(UnlockDatabaseVariant.P2P, UnlockIndex.build(p2pUnlocks));
+            indexes.put(UnlockDatabaseVariant.F2P, UnlockIndex.build(f2pUnlocks));
+            log.info("Unlock databases ready in {} ms.", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+            if (unlockManager.publishIndexes(indexes, loadTicket)) {
+                refreshPanelAfterDatabaseChange();
             }
-            InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
-            Type dataType = new TypeToken<UnlockDatabaseRoot>(){}.getType();
-            UnlockDatabaseRoot parsedData = gson.fromJson(reader, dataType);
+        });
+    }
 
-            if (parsedData != null && parsedData.getUnlocks() != null) {
-                unlockManager.loadData(parsedData.getUnlocks());
-                log.info("Successfully loaded {} unlock definitions from {}.", parsedData.getUnlocks().size(), dbPath);
-            } else {
-                log.error("Parsed unlock database or unlocks list was null from {}.", dbPath);
-                sendChatMessage("Error: Failed to parse unlock data. Plugin may not function correctly.", ChatMessageType.CONSOLE);
-                unlockManager.loadData(Collections.emptyList());
+    private UnlockDatabaseVariant selectedDatabaseVariant() {
+        return UnlockDatabaseVariant.select(settingsStore.get().isUseF2PDatabase());
+    }
+
+    private void refreshPanelAfterDatabaseChange() {
+        if (panel != null) {
+            clientThread.invokeLater(() -> {
+                panel.updateRelicCounts();
+                panel.updateUnlockedDisplay();
+                panel.updateProgressionTiersDisplay();
+            });
+        }
+    }
+
+    /**
+     * Reads one unlock database, preferring the precompiled binary over the JSON source.
+     * @return The interned unlocks, or an empty list if the database could not be read.
+     */
+    private List<UnlockData> readUnlockDatabase(String dbPath, UnlockDataInterner interner) {
+        String binaryPath = dbPath.replace(".json", UnlockDatabaseCodec.BINARY_EXTENSION);
+        long startNanos = System.nanoTime();
+
+        // Prefer the precompiled binary produced by the compileUnlockDatabase build task; JSON is the fallback
+        String source = binaryPath;
+        UnlockDatabaseRoot parsedData = readCompiledUnlockDatabase(binaryPath);
+        if (parsedData == null) {
+            source = dbPath;
+            log.info("Loading unlock database from JSON: {}", dbPath);
+            try (InputStream is = getClass().getResourceAsStream(dbPath)) {
+                if (is == null) {
+                    log.error("Could not find unlock database JSON file at path: {}", dbPath);
+                    sendChatMessage("Error: Failed to load essential unlock data. Plugin may not function correctly.", ChatMessageType.CONSOLE);
+                    return new ArrayList<>();
+                }
+                InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+                Type dataType = new TypeToken<UnlockDatabaseRoot>(){}.getType();
+                parsedData = gson.fromJson(reader, dataType);
+            } catch (Exception e) {
+                log.error("Error loading or parsing unlock database JSON from " + dbPath, e);
+                sendChatMessage("Error: Exception loading unlock data. Plugin may not function correctly.", ChatMessageType.CONSOLE);
+                return new ArrayList<>();
+            }
+        }
+
+        if (parsedData == null || parsedData.getUnlocks() == null) {
+            log.error("Parsed unlock database or unlocks list was null from {}.", source);
+            sendChatMessage("Error: Failed to parse unlock data. Plugin may not function correctly.", ChatMessageType.CONSOLE);
+            return new ArrayList<>();
+        }
+        List<UnlockData> unlocks = new ArrayList<>(parsedData.getUnlocks());
+        interner.internAll(unlocks);
+        log.info("Successfully loaded {} unlock definitions from {} in {} ms.",
+                unlocks.size(), source, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        return unlocks;
+    }
+
+    @Nullable
+    private UnlockDatabaseRoot readCompiledUnlockDatabase(String binaryPath) {
+        try (InputStream is = getClass().getResourceAsStream(binaryPath)) {
+            if (is == null) {
+                log.debug("No precompiled unlock database at {}, falling back to JSON.", binaryPath);
+                return null;
             }
-        } catch (Exception e) {
-            log.error("Error loading or parsing unlock database JSON from " + dbPath, e);
-            sendChatMessage("Error: Exception loading unlock data. Plugin may not function correctly.", ChatMessageType.CONSOLE);
-            unlockManager.loadData(Collections.emptyList());
+            return UnlockDatabaseCodec.decode(ByteBuffer.wrap(is.readAllBytes()));
+        } catch (IOException e) {
+            log.warn("Could not read precompiled unlock database {}, falling back to JSON.", binaryPath, e);
+            return null;
         }
     }
 
@@ -224,11 +318,14 @@ public class RelicHunterPlugin extends Plugin
         log.debug("Initiating activation sequence...");
         clearChoiceDisplay();
 
-        Map<RelicType, Map<SkillTier, Integer>> availableRelics = getAvailableRelicCounts();
+        int[] relicCounts = new int[RelicInventory.SIZE];
+        getAvailableRelicCounts(relicCounts);
         List<Map.Entry<RelicType, SkillTier>> usableOptions = new ArrayList<>();
-        availableRelics.forEach((type, tierMap) -> tierMap.forEach((tier, count) -> {
-            if (count > 0) usableOptions.add(Map.entry(type, tier));
-        }));
+        for (RelicType type : RelicType.values()) {
+            for (SkillTier tier : RelicInventory.RELIC_TIERS) {
+                if (relicCounts[RelicInventory.index(type, tier)] > 0) usableOptions.add(Map.entry(type, tier));
+            }
+        }
 
         if (usableOptions.isEmpty()) {
             log.warn("Activation initiated but no relics are held.");
@@ -289,57 +386,33 @@ public class RelicHunterPlugin extends Plugin
             return;
         }
 
-        List<UnlockData> potentialUnlocks = unlockManager.getPotentialUnlocks(type, tier);
-        if (potentialUnlocks.isEmpty()) {
+        if (unlockManager.getPotentialUnlockOrdinals(type, tier).length == 0) {
             log.warn("No unlocks defined in database for Relic Type {} and Tier {}", type, tier);
             if (panel != null) panel.displayError("Internal error: No unlocks defined for this relic type/tier.");
             else sendChatMessage("Internal error: No unlocks defined for this relic type/tier.", ChatMessageType.GAMEMESSAGE);
             return;
         }
-        log.debug("Potential unlocks for {} {}: {}", type, tier, potentialUnlocks.stream().map(UnlockData::getId).collect(Collectors.toList()));
+        log.debug("Currently unlocked: {} IDs", unlockStateStore.getUnlockedIds().size());
 
+        List<UnlockData> choices = unlockManager.offerChoices(type, tier, relicRandom);
 
-        Set<String> currentlyUnlockedIds = config.unlockedRelics();
-        log.debug("Currently unlocked IDs: {}", currentlyUnlockedIds);
+        log.debug("Offering choices: {}", choices.stream().map(UnlockData::getId).collect(Collectors.toList()));
 
-        List<UnlockData> validUnlocks = potentialUnlocks.stream()
-                .filter(unlock -> {
-                    boolean alreadyUnlocked = currentlyUnlockedIds.contains(unlock.getId());
-                    if (alreadyUnlocked) {
-                        log.trace("Filtering out already unlocked: {}", unlock.getId());
-                    }
-                    return !alreadyUnlocked;
-                })
-                .filter(unlock -> {
-                    boolean prereqsMet = checkPrerequisites(unlock, currentlyUnlockedIds);
-                    if (!prereqsMet) {
-                        log.trace("Filtering out due to unmet prerequisites: {} (needs {})", unlock.getId(), unlock.getPrerequisites());
-                    }
-                    return prereqsMet;
-                })
-                .collect(Collectors.toList());
-
-        log.debug("Filtered unlocks. Valid unlocks count: {}. IDs: {}",
-                validUnlocks.size(), validUnlocks.stream().map(UnlockData::getId).collect(Collectors.toList()));
-
-        if (validUnlocks.isEmpty()) {
+        if (choices.isEmpty()) {
             log.warn("No valid unlocks available after filtering for {} {}", type, tier);
             if (panel != null) panel.displayError("No new unlocks available for this relic type/tier (already unlocked or prerequisites not met).");
             else sendChatMessage("No new unlocks available for this relic type/tier.", ChatMessageType.GAMEMESSAGE);
             return;
         }
 
-        Collections.shuffle(validUnlocks, random);
-        List<UnlockData> choices = validUnlocks.stream().limit(3).collect(Collectors.toList());
-
         List<Unlockable> displayChoices = choices.stream()
                 .map(ud -> new Unlockable(ud.getId(), ud.getName(), ud.getDescription(), ud.getRelicType(), ud.getRequiredTier(), ud.getPrerequisites()))
                 .collect(Collectors.toList());
 
         log.debug("Preparing to display choices. Overlay enabled: {}. Display choices count: {}",
-                config.showChoiceOverlay(), displayChoices.size());
+                settingsStore.get().isShowChoiceOverlay(), displayChoices.size());
 
-        if (config.showChoiceOverlay()) {
+        if (settingsStore.get().isShowChoiceOverlay()) {
             relicChoiceOverlay.setCurrentChoices(displayChoices);
             log.debug("Called setCurrentChoices on overlay.");
         } else if (panel != null) {
@@ -351,10 +424,6 @@ public class RelicHunterPlugin extends Plugin
         }
     }
 
-    private boolean checkPrerequisites(UnlockData unlock, Set<String> currentlyUnlockedIds) {
-        return unlockManager.arePrerequisitesMet(unlock.getId(), currentlyUnlockedIds);
-    }
-
     public void completeRelicActivation(Unlockable chosenPanelUnlock) {
         UnlockData chosenUnlockData = unlockManager.getUnlockById(chosenPanelUnlock.getId()).orElse(null);
 
@@ -369,22 +438,19 @@ public class RelicHunterPlugin extends Plugin
         RelicType consumedRelicType = chosenUnlockData.getRelicType();
         SkillTier consumedRelicTier = chosenUnlockData.getRequiredTier();
 
-        if (getRelicCount(consumedRelicType, consumedRelicTier) <= 0) {
+        // Checked and consumed in one step, so a double click cannot spend the same relic twice
+        if (!relicInventory.decrementIfPositive(consumedRelicType, consumedRelicTier)) {
             log.error("Relic count mismatch! Trying to consume {} {} but count is zero.", consumedRelicType, consumedRelicTier);
             if (panel != null) panel.displayError("Internal Error: Relic count mismatch");
             else sendChatMessage("Internal Error: Relic count mismatch.", ChatMessageType.GAMEMESSAGE);
             return;
         }
 
-        decrementRelicCount(consumedRelicType, consumedRelicTier);
-
-        Set<String> currentUnlocked = config.unlockedRelics();
-        Set<String> newUnlockedSet = new HashSet<>(currentUnlocked);
-
-        updateProgressionState(chosenUnlockData);
-
-        newUnlockedSet.add(chosenUnlockData.getId());
-        configManager.setConfiguration(CONFIG_GROUP, "unlockedRelics", newUnlockedSet);
+        // Unlock and tier changes are published together; the panel refreshes once on ProgressionChanged
+        ProgressionRepository.Transaction transaction = progressionRepository.begin()
+                .unlock(chosenUnlockData.getId());
+        updateProgressionState(chosenUnlockData, transaction);
+        transaction.commit();
 
         String message = "Relic consumed. Unlocked: " + chosenUnlockData.getName() + "!";
         sendChatMessage(message, ChatMessageType.GAMEMESSAGE);
@@ -397,7 +463,7 @@ public class RelicHunterPlugin extends Plugin
         clientThread.invoke(() -> {
             Player localPlayer = client.getLocalPlayer();
             if (localPlayer != null) {
-                if (config.playUnlockEmote()) {
+                if (settingsStore.get().isPlayUnlockEmote()) {
                     if (localPlayer.getAnimation() == -1 || localPlayer.getAnimation() == AnimationID.IDLE) {
                         localPlayer.setAnimation(UNLOCK_ANIMATION_ID);
                         localPlayer.setAnimationFrame(0);
@@ -407,7 +473,7 @@ public class RelicHunterPlugin extends Plugin
                     }
                 }
 
-                if (config.showUnlockGraphic()) {
+                if (settingsStore.get().isShowUnlockGraphic()) {
                     localPlayer.setGraphic(UNLOCK_GRAPHIC_ID);
                     log.debug("Triggering unlock graphic: {}", UNLOCK_GRAPHIC_ID);
                 }
@@ -419,7 +485,7 @@ public class RelicHunterPlugin extends Plugin
         });
     }
 
-    private void updateProgressionState(UnlockData unlockedData) {
+    private void updateProgressionState(UnlockData unlockedData, ProgressionRepository.Transaction transaction) {
         log.debug("Updating progression state for unlock: {} ({})", unlockedData.getName(), unlockedData.getId());
         switch (unlockedData.getCategory()) {
             case SKILL_TIER:
@@ -444,7 +510,7 @@ public class RelicHunterPlugin extends Plugin
                         }
 
                         if (tier != null) {
-                            setSkillTier(skill, tier);
+                            transaction.setSkillTier(skill, tier);
                             log.info("Set skill {} to tier {}", skill, tier);
                         }
                     } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
@@ -467,7 +533,7 @@ public class RelicHunterPlugin extends Plugin
                         }
 
                         if ("MELEE".equalsIgnoreCase(gearType)) {
-                            setMeleeGearTier(gearTier);
+                            transaction.setMeleeGearTier(gearTier);
                             log.info("Set MELEE gear tier to {}", gearTier);
                         } else if ("RANGED".equalsIgnoreCase(gearType)) {
                             log.info("Set RANGED gear tier to {}", gearTier);
@@ -499,25 +565,13 @@ public class RelicHunterPlugin extends Plugin
                 log.warn("No specific progression state update logic implemented for category: {}", unlockedData.getCategory());
                 break;
         }
-        if (panel != null) {
-            clientThread.invokeLater(() -> {
-                panel.updateUnlockedDisplay();
-                panel.updateProgressionTiersDisplay();
-                panel.updateRelicCounts();
-            });
-        }
     }
 
 
     // --- Restriction Checking ---
     public boolean isItemAllowed(int itemId) {
-        Set<String> unlockedIds = config.unlockedRelics();
-        if (!unlockManager.isItemPermittedByUnlocks(itemId, unlockedIds)) {
-            log.trace("Item {} denied by specific/gear tier unlocks.", itemId);
-            return false;
-        }
-        log.trace("Item {} permitted (specific/gear tier checks passed).", itemId);
-        return true;
+        // Precomputed bitmap lookup; rebuilt by UnlockManager whenever the unlocks change.
+        return unlockManager.isItemAllowed(itemId);
     }
 
 
@@ -553,115 +607,23 @@ public class RelicHunterPlugin extends Plugin
         }
     }
 
-    private int calculateAvailableUnlocks(RelicType type, SkillTier tier) {
-        List<UnlockData> potentialUnlocks = unlockManager.getPotentialUnlocks(type, tier);
-        if (potentialUnlocks.isEmpty()) {
-            log.trace("calculateAvailableUnlocks: No potential unlocks found for {} {}", type, tier);
-            return 0;
-        }
-        Set<String> currentlyUnlockedIds = config.unlockedRelics();
-        long count = potentialUnlocks.stream()
-                .filter(unlock -> !currentlyUnlockedIds.contains(unlock.getId()))
-                .filter(unlock -> checkPrerequisites(unlock, currentlyUnlockedIds))
-                .count();
-        log.debug("Calculated {} available unlocks for {} {}", count, type, tier);
-        return (int) count;
-    }
-
-
     private void incrementRelicCount(RelicType type, SkillTier tier) {
-        String configKey = getConfigKeyForRelic(type, tier);
-        if (configKey == null) {
-            log.error("Could not find config key for Relic: {} {}", type, tier);
-            return;
-        }
-        int currentCount = getRelicCount(type, tier);
-        configManager.setConfiguration(CONFIG_GROUP, configKey, currentCount + 1);
-        log.info("Incremented Relic Count: {} {} (New count: {})", tier.getDisplayName(), type.name(), currentCount + 1);
+        int newCount = relicInventory.increment(type, tier);
+        log.info("Incremented Relic Count: {} {} (New count: {})", tier.getDisplayName(), type.name(), newCount);
     }
 
     // --- Helper Methods ---
     public int getRelicCount(RelicType type, SkillTier tier) {
-        switch (type) {
-            case SKILLING:
-                switch (tier) {
-                    case APPRENTICE: return config.skillingRelicsApprentice();
-                    case JOURNEYMAN: return config.skillingRelicsJourneyman();
-                    case EXPERT: return config.skillingRelicsExpert();
-                    case MASTER: return config.skillingRelicsMaster();
-                    case GRANDMASTER: return config.skillingRelicsGrandmaster();
-                    default: return 0;
-                }
-            case COMBAT:
-                switch (tier) {
-                    case APPRENTICE: return config.combatRelicsApprentice();
-                    case JOURNEYMAN: return config.combatRelicsJourneyman();
-                    case EXPERT: return config.combatRelicsExpert();
-                    case MASTER: return config.combatRelicsMaster();
-                    case GRANDMASTER: return config.combatRelicsGrandmaster();
-                    default: return 0;
-                }
-            case EXPLORATION:
-                switch (tier) {
-                    case APPRENTICE: return config.explorationRelicsApprentice();
-                    case JOURNEYMAN: return config.explorationRelicsJourneyman();
-                    case EXPERT: return config.explorationRelicsExpert();
-                    case MASTER: return config.explorationRelicsMaster();
-                    case GRANDMASTER: return config.explorationRelicsGrandmaster();
-                    default: return 0;
-                }
-            default: return 0;
-        }
+        return relicInventory.getCount(type, tier);
     }
 
-    public Map<RelicType, Map<SkillTier, Integer>> getAvailableRelicCounts() {
-        Map<RelicType, Map<SkillTier, Integer>> counts = new EnumMap<>(RelicType.class);
-        List<SkillTier> tiersToCheck = List.of(SkillTier.APPRENTICE, SkillTier.JOURNEYMAN, SkillTier.EXPERT, SkillTier.MASTER, SkillTier.GRANDMASTER);
-        for (RelicType type : RelicType.values()) {
-            Map<SkillTier, Integer> tierCounts = new EnumMap<>(SkillTier.class);
-            for (SkillTier tier : tiersToCheck) {
-                int count = getRelicCount(type, tier);
-                if (count > 0) tierCounts.put(tier, count);
-            }
-            if (!tierCounts.isEmpty()) counts.put(type, tierCounts);
-        }
-        return counts;
-    }
-
-    private void decrementRelicCount(RelicType type, SkillTier tier) {
-        int currentCount = getRelicCount(type, tier);
-        if (currentCount <= 0) return;
-        String key = getConfigKeyForRelic(type, tier);
-        if (key != null) configManager.setConfiguration(CONFIG_GROUP, key, currentCount - 1);
-    }
-    private String getConfigKeyForRelic(RelicType type, SkillTier tier) {
-        switch (type) {
-            case SKILLING:
-                switch (tier) {
-                    case APPRENTICE: return "skillingRelicsApprentice";
-                    case JOURNEYMAN: return "skillingRelicsJourneyman";
-                    case EXPERT: return "skillingRelicsExpert";
-                    case MASTER: return "skillingRelicsMaster";
-                    case GRANDMASTER: return "skillingRelicsGrandmaster";
-                } break;
-            case COMBAT:
-                switch (tier) {
-                    case APPRENTICE: return "combatRelicsApprentice";
-                    case JOURNEYMAN: return "combatRelicsJourneyman";
-                    case EXPERT: return "combatRelicsExpert";
-                    case MASTER: return "combatRelicsMaster";
-                    case GRANDMASTER: return "combatRelicsGrandmaster";
-                } break;
-            case EXPLORATION:
-                switch (tier) {
-                    case APPRENTICE: return "explorationRelicsApprentice";
-                    case JOURNEYMAN: return "explorationRelicsJourneyman";
-                    case EXPERT: return "explorationRelicsExpert";
-                    case MASTER: return "explorationRelicsMaster";
-                    case GRANDMASTER: return "explorationRelicsGrandmaster";
-                } break;
-        }
-        return null;
+    /**
+     * Copies the held relic counts into the given array without allocating.
+     * @param counts At least {@link RelicInventory#SIZE} entries, indexed by {@link RelicInventory#index}.
+     * @return The total number of relics held.
+     */
+    public int getAvailableRelicCounts(int[] counts) {
+        return relicInventory.copyCounts(counts);
     }
 
     private void sendChatMessage(String message, ChatMessageType type) {
@@ -688,26 +650,8 @@ public class RelicHunterPlugin extends Plugin
 
             if (confirm == JOptionPane.YES_OPTION) {
                 log.info("Resetting Relic Hunter progression.");
-                configManager.unsetConfiguration(CONFIG_GROUP, "unlockedRelics");
-                for (RelicType type : RelicType.values()) {
-                    for (SkillTier tier : SkillTier.values()) {
-                        if (tier == SkillTier.LOCKED || tier.name().startsWith("LEVEL_")) continue;
-                        String key = getConfigKeyForRelic(type, tier);
-                        if (key != null) configManager.unsetConfiguration(CONFIG_GROUP, key);
-                    }
-                }
-                configManager.unsetConfiguration(CONFIG_GROUP, "meleeGearTier");
-                for (Skill skill : Skill.values()) {
-                    if (skill == Skill.OVERALL || skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE || skill == Skill.HITPOINTS) continue;
-                    String key = getSkillTierConfigKey(skill);
-                    if (key != null) configManager.unsetConfiguration(CONFIG_GROUP, key);
-                }
+                progressionRepository.reset();
                 sendChatMessage("Relic Hunter progression has been reset.", ChatMessageType.GAMEMESSAGE);
-                if (panel != null) {
-                    panel.updateRelicCounts();
-                    panel.updateUnlockedDisplay();
-                    panel.updateProgressionTiersDisplay();
-                }
                 lastPlayerRegionId = -1;
                 previousSkillXp.clear();
                 if (client.getGameState() == GameState.LOGGED_IN) {
@@ -718,49 +662,10 @@ public class RelicHunterPlugin extends Plugin
         });
     }
     public SkillTier getSkillTier(Skill skill) {
-        if (skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE || skill == Skill.HITPOINTS) {
-            return SkillTier.GRANDMASTER;
-        }
-        switch (skill) {
-            case RANGED: return config.rangedTier(); case PRAYER: return config.prayerTier();
-            case MAGIC: return config.magicTier(); case RUNECRAFT: return config.runecraftTier();
-            case CONSTRUCTION: return config.constructionTier();
-            case AGILITY: return config.agilityTier(); case HERBLORE: return config.herbloreTier();
-            case THIEVING: return config.thievingTier(); case CRAFTING: return config.craftingTier();
-            case FLETCHING: return config.fletchingTier(); case SLAYER: return config.slayerTier();
-            case HUNTER: return config.hunterTier(); case MINING: return config.miningTier();
-            case SMITHING: return config.smithingTier(); case FISHING: return config.fishingTier();
-            case COOKING: return config.cookingTier(); case FIREMAKING: return config.firemakingTier();
-            case WOODCUTTING: return config.woodcuttingTier(); case FARMING: return config.farmingTier();
-            default: return SkillTier.LOCKED;
-        }
+        return progressionRepository.getSkillTier(skill);
     }
 
-    @Nullable
-    private String getSkillTierConfigKey(Skill skill) {
-        switch (skill) {
-            case RANGED: return "rangedTier"; case PRAYER: return "prayerTier";
-            case MAGIC: return "magicTier"; case RUNECRAFT: return "runecraftTier";
-            case CONSTRUCTION: return "constructionTier";
-            case AGILITY: return "agilityTier"; case HERBLORE: return "herbloreTier";
-            case THIEVING: return "thievingTier"; case CRAFTING: return "craftingTier";
-            case FLETCHING: return "fletchingTier"; case SLAYER: return "slayerTier";
-            case HUNTER: return "hunterTier"; case MINING: return "miningTier";
-            case SMITHING: return "smithingTier"; case FISHING: return "fishingTier";
-            case COOKING: return "cookingTier"; case FIREMAKING: return "firemakingTier";
-            case WOODCUTTING: return "woodcuttingTier"; case FARMING: return "farmingTier";
-            default: return null;
-        }
-    }
-
-    private void setSkillTier(Skill skill, SkillTier tier) {
-        String key = getSkillTierConfigKey(skill);
-        if (key != null) {
-            configManager.setConfiguration(CONFIG_GROUP, key, tier);
-        }
-    }
-    public GearTier getMeleeGearTier() { return config.meleeGearTier(); }
-    private void setMeleeGearTier(GearTier tier) { configManager.setConfiguration(CONFIG_GROUP, "meleeGearTier", tier); }
+    public GearTier getMeleeGearTier() { return progressionRepository.getMeleeGearTier(); }
 
     public void clearChoiceDisplay() {
         if (relicChoiceOverlay != null) {
@@ -776,20 +681,38 @@ public class RelicHunterPlugin extends Plugin
     @Subscribe
     public void onConfigChanged(ConfigChanged event) {
         if (!event.getGroup().equals(CONFIG_GROUP)) { return; }
+        // Written behind by ProgressionRepository; already applied in memory and announced by ProgressionChanged
+        if (progressionRepository.isOwnWrite()) { return; }
+        settingsStore.reload();
+
+        if (event.getKey().equals(RelicInventory.CONFIG_KEY)) {
+            if (relicInventory.onConfigChanged(event.getNewValue()) && panel != null) {
+                panel.updateRelicCounts();
+            }
+            return;
+        }
+
+        progressionRepository.onConfigChanged(event.getKey());
+        if (event.getKey().equals(ProgressionRepository.UNLOCKED_RELICS_KEY)) {
+            unlockManager.refreshUnlockState();
+        }
+
+        if (event.getKey().endsWith("Tier")) {
+            skillTabOverlay.invalidate();
+        }
+
+        if (event.getKey().equals("questRestrictionMode")) {
+            clientThread.invokeLater(questListRestrictor::refresh);
+        }
 
         if (event.getKey().equals("showChoiceOverlay") && "false".equals(event.getNewValue())) {
             clearChoiceDisplay();
         }
 
         if (event.getKey().equals("useF2PDatabase")) {
-            log.info("Database selection changed, reloading...");
-            loadUnlockDatabase();
-            if (panel != null) {
-                clientThread.invokeLater(() -> {
-                    panel.updateRelicCounts();
-                    panel.updateUnlockedDisplay();
-                    panel.updateProgressionTiersDisplay();
-                });
+            // Both databases are already resident; this only swaps which one is active
+            if (unlockManager.selectDatabase(selectedDatabaseVariant())) {
+                refreshPanelAfterDatabaseChange();
             }
             return;
         }
@@ -800,9 +723,9 @@ public class RelicHunterPlugin extends Plugin
             return;
         }
         if (panel != null) {
-            if (event.getKey().toLowerCase().contains("relics") && !event.getKey().equals("unlockedRelics")) panel.updateRelicCounts();
+            if (event.getKey().endsWith("TierWeight")) panel.updateRelicCounts();
             if (event.getKey().equals("meleeGearTier") || (event.getKey().toLowerCase().contains("tier") && !event.getKey().equals("resetProgressionButton"))) panel.updateProgressionTiersDisplay();
-            if (event.getKey().equals("unlockedRelics")) {
+            if (event.getKey().equals(ProgressionRepository.UNLOCKED_RELICS_KEY)) {
                 panel.updateUnlockedDisplay();
                 panel.updateProgressionTiersDisplay();
             }
@@ -812,6 +735,19 @@ public class RelicHunterPlugin extends Plugin
         }
     }
 
+    @Subscribe
+    public void onProgressionChanged(ProgressionChanged event) {
+        unlockManager.refreshUnlockState();
+        skillTabOverlay.invalidate();
+        if (panel != null) {
+            clientThread.invokeLater(() -> {
+                panel.updateUnlockedDisplay();
+                panel.updateProgressionTiersDisplay();
+                panel.updateRelicCounts();
+            });
+        }
+    }
+
     @Subscribe
     public void onGameStateChanged(GameStateChanged gameStateChanged) {
         if (gameStateChanged.getGameState() == GameState.LOGGED_IN) {
@@ -833,6 +769,8 @@ public class RelicHunterPlugin extends Plugin
             lastPlayerRegionId = -1;
             clearChoiceDisplay();
         } else if (gameStateChanged.getGameState() == GameState.LOGIN_SCREEN || gameStateChanged.getGameState() == GameState.STARTING) {
+            // Don't leave a committed unlock waiting on the write-behind across a logout
+            progressionRepository.flush();
             initialPanelUpdateDone = false;
             lastPlayerRegionId = -1;
             previousSkillXp.clear();
@@ -844,7 +782,7 @@ public class RelicHunterPlugin extends Plugin
 
     @Subscribe
     public void onGameTick(GameTick event) {
-        if (config.warnOnRestrictedAreaEntry() && client.getLocalPlayer() != null) {
+        if (settingsStore.get().isWarnOnRestrictedAreaEntry() && client.getLocalPlayer() != null) {
             WorldPoint playerLocation = client.getLocalPlayer().getWorldLocation();
             if (playerLocation != null) {
                 int currentRegionId = playerLocation.getRegionID();
@@ -862,6 +800,11 @@ public class RelicHunterPlugin extends Plugin
         int currentTick = client.getTickCount();
         recentlyProcessedNpcs.entrySet().removeIf(entry -> entry.getValue() < currentTick - (NPC_PROCESS_COOLDOWN_TICKS * 2));
 
+        questListRestrictor.onGameTick();
+        if (log.isDebugEnabled() && currentTick % ITEM_CACHE_STATS_INTERVAL_TICKS == 0) {
+            itemRestrictionCache.logStats();
+        }
+
         if (loginTick) {
             loginTick = false;
             log.debug("Login tick processed, enabling StatChanged relic checks.");
@@ -881,7 +824,7 @@ public class RelicHunterPlugin extends Plugin
         }
         int xpGained = currentXp - previousXp;
 
-        if (config.warnOnRestrictedXpGain()) {
+        if (settingsStore.get().isWarnOnRestrictedXpGain()) {
             SkillTier currentTier = getSkillTier(skill);
             if (currentTier == SkillTier.LOCKED && !(skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE || skill == Skill.HITPOINTS)) {
                 if (previousXp > 0) {
@@ -897,45 +840,18 @@ public class RelicHunterPlugin extends Plugin
             }
         }
 
-        boolean isCombatSkillForRelic = (skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE || skill == Skill.RANGED || skill == Skill.PRAYER || skill == Skill.MAGIC);
-        if (isCombatSkillForRelic || skill == Skill.HITPOINTS || skill == Skill.OVERALL) {
-            return;
-        }
         if (previousXp == 0) {
             log.trace("Ignoring potential skilling relic drop for {} due to previous XP being 0.", skill.getName());
             return;
         }
 
-        SkillTier maxTier = determineMaxTierFromMinXp(xpGained);
-        if (maxTier == null) {
-            log.trace("XP gain {} too low for any relic tier, no skilling relic roll performed.", xpGained);
-            return;
+        DropDecision decision = dropEngine.onXpGained(skill, xpGained);
+        if (log.isDebugEnabled()) {
+            logDropDecision(decision, skill.getName() + " +" + xpGained + " XP");
         }
-
-        int availableUnlockCount = calculateAvailableUnlocks(RelicType.SKILLING, maxTier);
-        if (availableUnlockCount <= 0) {
-            log.debug("No available skilling unlocks for tier {}, no roll performed.", maxTier);
-            return;
+        if (decision.isDropped()) {
+            addRelic(decision.getRelicType(), decision.getTier(), decision.getSource(), null);
         }
-
-        int baseChance = config.skillingRelicBaseChance();
-        if (baseChance <= 0) baseChance = 500;
-
-        int rollThreshold = config.enableScalingDropRate()
-                ? Math.max(1, baseChance / availableUnlockCount)
-                : baseChance;
-
-        log.debug("Attempting skilling relic roll. Skill={}, MaxTier={}, Available={}, BaseChance={}, Scaling={}, Threshold=1 in {}",
-                skill.getName(), maxTier, availableUnlockCount, baseChance, config.enableScalingDropRate(), rollThreshold);
-
-        if (random.nextInt(rollThreshold) == 0) {
-            log.debug("Skilling relic base roll SUCCESS (1 in {}) for skill {} (XP Gained: {})", rollThreshold, skill.getName(), xpGained);
-            SkillTier receivedTier = rollRelicTier(maxTier);
-            log.trace("Weighted tier roll result: {}", receivedTier);
-            if (receivedTier != null) {
-                addRelic(RelicType.SKILLING, receivedTier, RelicSource.SKILLING, null);
-            } else { log.warn("Weighted tier roll returned null for max tier {}", maxTier); }
-        } else { log.trace("Skilling relic base roll FAILED (1 in {}) for skill {} (XP Gained: {})", rollThreshold, skill.getName(), xpGained); }
     }
 
     @Subscribe
@@ -957,37 +873,13 @@ public class RelicHunterPlugin extends Plugin
         log.debug("Processing potential kill for NPC {} (Index {}, Level {}) at {}", npc.getId(), npcIndex, npc.getCombatLevel(), deathLocation);
         recentlyProcessedNpcs.put(npcIndex, currentTick);
 
-        int combatLevel = npc.getCombatLevel();
-        SkillTier maxTier = determineMaxTierFromNpcLevel(combatLevel);
-        if (maxTier == null || maxTier == SkillTier.LOCKED) {
-            log.trace("Max tier was null or LOCKED based on NPC level {}, no combat relic tier roll performed.", combatLevel);
-            return;
+        DropDecision decision = dropEngine.onNpcKilled(npc.getCombatLevel());
+        if (log.isDebugEnabled()) {
+            logDropDecision(decision, "NPC " + npc.getId());
         }
-
-        int availableUnlockCount = calculateAvailableUnlocks(RelicType.COMBAT, maxTier);
-        if (availableUnlockCount <= 0) {
-            log.debug("No available combat unlocks for tier {}, no roll performed.", maxTier);
-            return;
+        if (decision.isDropped()) {
+            addRelic(decision.getRelicType(), decision.getTier(), decision.getSource(), deathLocation);
         }
-
-        int baseChance = config.combatRelicBaseChance();
-        if (baseChance <= 0) baseChance = 200;
-
-        int rollThreshold = config.enableScalingDropRate()
-                ? Math.max(1, baseChance / availableUnlockCount)
-                : baseChance;
-
-        log.debug("Attempting combat relic roll. NPC={}, MaxTier={}, Available={}, BaseChance={}, Scaling={}, Threshold=1 in {}",
-                npc.getId(), maxTier, availableUnlockCount, baseChance, config.enableScalingDropRate(), rollThreshold);
-
-        if (random.nextInt(rollThreshold) == 0) {
-            log.debug("Combat relic base roll SUCCESS (1 in {}) for NPC {}!", rollThreshold, npc.getId());
-            SkillTier receivedTier = rollRelicTier(maxTier);
-            log.trace("Weighted tier roll result: {}", receivedTier);
-            if (receivedTier != null) {
-                addRelic(RelicType.COMBAT, receivedTier, RelicSource.COMBAT, deathLocation);
-            } else { log.warn("Weighted tier roll returned null for max tier {}", maxTier); }
-        } else { log.trace("Combat relic base roll FAILED (1 in {}) for NPC {}.", rollThreshold, npc.getId()); }
     }
 
     @Subscribe
@@ -1000,47 +892,44 @@ public class RelicHunterPlugin extends Plugin
         if (matcher.matches()) {
             String clueTierString = matcher.group(1).toLowerCase();
             log.debug("Detected clue scroll completion: {}", clueTierString);
-            SkillTier relicTier;
-            switch (clueTierString) {
-                case "beginner": return;
-                case "easy":       relicTier = SkillTier.APPRENTICE; break;
-                case "medium":     relicTier = SkillTier.JOURNEYMAN; break;
-                case "hard":       relicTier = SkillTier.EXPERT; break;
-                case "elite":      relicTier = SkillTier.MASTER; break;
-                case "master":     relicTier = SkillTier.GRANDMASTER; break;
-                default:
-                    log.warn("Unknown clue scroll tier detected: {}", clueTierString);
-                    return;
+            DropDecision decision = dropEngine.onClueCompleted(clueTierString);
+            if (decision.getOutcome() == DropDecision.Outcome.INELIGIBLE && !clueTierString.equals("beginner")) {
+                log.warn("Unknown clue scroll tier detected: {}", clueTierString);
             }
-
-            int availableUnlockCount = calculateAvailableUnlocks(RelicType.EXPLORATION, relicTier);
-            if (availableUnlockCount <= 0) {
-                log.debug("No available exploration unlocks for tier {}, no roll performed for {} clue.", relicTier, clueTierString);
-                return;
+            if (log.isDebugEnabled()) {
+                logDropDecision(decision, clueTierString + " clue");
             }
+            if (decision.isDropped()) {
+                addRelic(decision.getRelicType(), decision.getTier(), decision.getSource(), null);
+            }
+        }
+    }
 
-            int baseChance = config.explorationRelicBaseChance();
-            if (baseChance <= 0) baseChance = 10;
+    @Subscribe
+    public void onItemContainerChanged(ItemContainerChanged event) {
+        itemRestrictionCache.onItemContainerChanged(event.getContainerId(), event.getItemContainer());
+    }
 
-            int rollThreshold = config.enableScalingDropRate()
-                    ? Math.max(1, baseChance / availableUnlockCount)
-                    : baseChance;
+    @Subscribe
+    public void onWidgetLoaded(WidgetLoaded event) {
+        questListRestrictor.onWidgetLoaded(event.getGroupId());
+    }
 
-            log.debug("Attempting exploration relic roll. Clue={}, RelicTier={}, Available={}, BaseChance={}, Scaling={}, Threshold=1 in {}",
-                    clueTierString, relicTier, availableUnlockCount, baseChance, config.enableScalingDropRate(), rollThreshold);
+    @Subscribe
+    public void onWidgetClosed(WidgetClosed event) {
+        itemRestrictionCache.onWidgetClosed(event.getGroupId());
+    }
 
-            if (random.nextInt(rollThreshold) == 0) {
-                log.debug("Exploration relic roll SUCCESS (1 in {}) for {} clue.", rollThreshold, clueTierString);
-                addRelic(RelicType.EXPLORATION, relicTier, RelicSource.EXPLORATION, null);
-            } else { log.trace("Exploration relic roll FAILED (1 in {}) for {} clue.", rollThreshold, clueTierString); }
-        }
+    @Subscribe
+    public void onScriptPostFired(ScriptPostFired event) {
+        questListRestrictor.onScriptPostFired();
     }
 
     @Subscribe
     public void onMenuOptionClicked(MenuOptionClicked event) {
         // Check if the choice overlay handled the click first
         // The event consumption now happens in the mouseClicked listener
-        if (relicChoiceOverlay.hasChoices() && config.showChoiceOverlay()) {
+        if (relicChoiceOverlay.hasChoices() && settingsStore.get().isShowChoiceOverlay()) {
             Point mousePos = client.getMouseCanvasPosition();
             // Check if the click originated within the overlay bounds
             if (mousePos != null && relicChoiceOverlay.getBounds() != null && relicChoiceOverlay.getBounds().contains(mousePos.getX(), mousePos.getY())) {
@@ -1059,7 +948,7 @@ public class RelicHunterPlugin extends Plugin
 
 
         // Only handle Item Restriction Blocking if the choice overlay didn't consume the click
-        if (config.warnOnRestrictedItemUse() || config.attemptBlockRestrictedItemUse()) {
+        if (settingsStore.get().isWarnOnRestrictedItemUse() || settingsStore.get().isAttemptBlockRestrictedItemUse()) {
             String clickedOption = event.getMenuOption();
             MenuAction clickedAction = event.getMenuAction();
 
@@ -1078,10 +967,10 @@ public class RelicHunterPlugin extends Plugin
                     ItemComposition itemComp = itemManager.getItemComposition(itemIdToCheck);
                     String itemName = itemComp != null ? itemComp.getName() : "Unknown Item (ID: " + itemIdToCheck + ")";
 
-                    if (config.warnOnRestrictedItemUse()) {
+                    if (settingsStore.get().isWarnOnRestrictedItemUse()) {
                         sendChatMessage("Warning: Cannot use restricted item: " + itemName + "!", ChatMessageType.CONSOLE);
                     }
-                    if (config.attemptBlockRestrictedItemUse()) {
+                    if (settingsStore.get().isAttemptBlockRestrictedItemUse()) {
                         log.debug("Attempting to block use of restricted item: {} (ID: {}) via action: {}", itemName, itemIdToCheck, clickedAction);
                         event.consume();
                     }
@@ -1091,69 +980,32 @@ public class RelicHunterPlugin extends Plugin
     }
 
 
-    // --- Relic Acquisition Tier Determination ---
-    @Nullable
-    private SkillTier determineMaxTierFromMinXp(int xpGained) {
-        if (xpGained < config.skillingRelicMinXpApp()) return null;
-
-        if (xpGained >= config.skillingRelicMinXpGra()) return SkillTier.GRANDMASTER;
-        if (xpGained >= config.skillingRelicMinXpMas()) return SkillTier.MASTER;
-        if (xpGained >= config.skillingRelicMinXpExp()) return SkillTier.EXPERT;
-        if (xpGained >= config.skillingRelicMinXpJour()) return SkillTier.JOURNEYMAN;
-        return SkillTier.APPRENTICE;
-    }
-
-
-    private SkillTier determineMaxTierFromNpcLevel(int npcLevel) {
-        if (npcLevel <= 0) return null;
-        if (npcLevel > config.combatRelicNpcLevelMas()) return SkillTier.GRANDMASTER;
-        if (npcLevel > config.combatRelicNpcLevelExp()) return SkillTier.MASTER;
-        if (npcLevel > config.combatRelicNpcLevelJour()) return SkillTier.EXPERT;
-        if (npcLevel > config.combatRelicNpcLevelApp()) return SkillTier.JOURNEYMAN;
-        return SkillTier.APPRENTICE;
+    // --- Relic Drop Rolls ---
+    // Callers check log.isDebugEnabled() first, so the trigger text is only built when it can be logged
+    private void logDropDecision(DropDecision decision, String trigger) {
+        switch (decision.getOutcome()) {
+            case INELIGIBLE:
+                log.trace("{} relic: {} is not eligible for a drop.", decision.getSource(), trigger);
+                break;
+            case NO_UNLOCKS_AVAILABLE:
+                log.debug("No available {} unlocks for tier {}, no roll performed for {}.", decision.getRelicType(), decision.getMaxTier(), trigger);
+                break;
+            case ROLL_FAILED:
+                log.trace("{} relic roll FAILED (1 in {}) for {}. MaxTier={}, Available={}",
+                        decision.getSource(), decision.getRollThreshold(), trigger, decision.getMaxTier(), decision.getAvailableUnlocks());
+                break;
+            case DROPPED:
+                log.debug("{} relic roll SUCCESS (1 in {}) for {}: {} (MaxTier={}, Available={})", decision.getSource(),
+                        decision.getRollThreshold(), trigger, decision.getTier(), decision.getMaxTier(), decision.getAvailableUnlocks());
+                break;
+        }
     }
 
-    private SkillTier rollRelicTier(SkillTier maxPossibleTier) {
-        if (maxPossibleTier == null || maxPossibleTier == SkillTier.LOCKED) {
-            return null;
-        }
-        Map<SkillTier, Integer> weights = new EnumMap<>(SkillTier.class);
-        weights.put(SkillTier.APPRENTICE, 100);
-        weights.put(SkillTier.JOURNEYMAN, 50);
-        weights.put(SkillTier.EXPERT, 25);
-        weights.put(SkillTier.MASTER, 10);
-        weights.put(SkillTier.GRANDMASTER, 5);
-
-        int totalWeight = 0;
-        Map<SkillTier, Integer> applicableWeights = new EnumMap<>(SkillTier.class);
-        for (SkillTier tier : SkillTier.values()) {
-            if (tier == SkillTier.LOCKED || tier.name().startsWith("LEVEL_")) continue;
-            if (tier.ordinal() <= maxPossibleTier.ordinal()) {
-                int weight = weights.getOrDefault(tier, 0);
-                if (weight > 0) {
-                    applicableWeights.put(tier, weight);
-                    totalWeight += weight;
-                }
-            }
-        }
-        if (totalWeight <= 0 || applicableWeights.isEmpty()) {
-            log.warn("No valid tiers/weights for rolling up to max tier {}. Defaulting to max.", maxPossibleTier);
-            return maxPossibleTier;
-        }
-        int roll = random.nextInt(totalWeight);
-        int cumulativeWeight = 0;
-        List<SkillTier> sortedTiers = applicableWeights.keySet().stream()
-                .sorted(Comparator.comparing(SkillTier::ordinal))
-                .collect(Collectors.toList());
-        for (SkillTier tier : sortedTiers) {
-            int weight = applicableWeights.get(tier);
-            cumulativeWeight += weight;
-            if (roll < cumulativeWeight) {
-                return tier;
-            }
-        }
-        log.error("Relic tier roll failed unexpectedly. Falling back to max tier.");
-        return maxPossibleTier;
+    /**
+     * @return The exact chance that a relic drop capped at {@code maxPossibleTier} is of the given tier.
+     */
+    public double getTierProbability(SkillTier maxPossibleTier, SkillTier tier) {
+        return tierRoller.getProbability(maxPossibleTier, tier);
     }
 
 
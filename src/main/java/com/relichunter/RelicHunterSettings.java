@@ -0,0 +1,117 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/RelicHunterSettings.java
+package com.relichunter;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.awt.Color;
+
+/**
+ * Immutable snapshot of every RelicHunterConfig value read on an event or render path.
+ * <p>
+ * Reading the config interface goes through the ConfigManager proxy (string key lookup plus parsing)
+ * on every call. Instead, {@link RelicHunterSettingsStore} reads all values once into one of these
+ * whenever the config group changes, and hot paths read plain fields and arrays from it.
+ * Skill and gear tiers are progression state and live in {@link ProgressionRepository} instead.
+ */
+@Getter
+public final class RelicHunterSettings {
+
+    private static final int TIER_COUNT = SkillTier.values().length;
+
+    private final boolean useF2PDatabase;
+
+    private final boolean enableScalingDropRate;
+    private final int skillingRelicBaseChance;
+    private final int combatRelicBaseChance;
+    private final int explorationRelicBaseChance;
+    // Indexed by SkillTier.ordinal(); only the named tiers are set
+    @Getter(AccessLevel.NONE)
+    private final int[] skillingRelicMinXp;
+    @Getter(AccessLevel.NONE)
+    private final int[] combatRelicNpcLevel;
+    @Getter(AccessLevel.NONE)
+    private final int[] tierWeights;
+
+    private final boolean showItemRestrictions;
+    private final ItemRestrictionStyle itemRestrictionStyle;
+    private final Color itemRestrictionColor;
+    private final boolean showSkillTierVisuals;
+    private final QuestRestrictionMode questRestrictionMode;
+    private final boolean showChoiceOverlay;
+    private final boolean playUnlockEmote;
+    private final boolean showUnlockGraphic;
+
+    private final boolean warnOnRestrictedXpGain;
+    private final boolean warnOnRestrictedAreaEntry;
+    private final boolean warnOnRestrictedItemUse;
+    private final boolean attemptBlockRestrictedItemUse;
+
+    private RelicHunterSettings(RelicHunterConfig config) {
+        useF2PDatabase = config.useF2PDatabase();
+
+        enableScalingDropRate = config.enableScalingDropRate();
+        skillingRelicBaseChance = config.skillingRelicBaseChance();
+        combatRelicBaseChance = config.combatRelicBaseChance();
+        explorationRelicBaseChance = config.explorationRelicBaseChance();
+        skillingRelicMinXp = new int[TIER_COUNT];
+        skillingRelicMinXp[SkillTier.APPRENTICE.ordinal()] = config.skillingRelicMinXpApp();
+        skillingRelicMinXp[SkillTier.JOURNEYMAN.ordinal()] = config.skillingRelicMinXpJour();
+        skillingRelicMinXp[SkillTier.EXPERT.ordinal()] = config.skillingRelicMinXpExp();
+        skillingRelicMinXp[SkillTier.MASTER.ordinal()] = config.skillingRelicMinXpMas();
+        skillingRelicMinXp[SkillTier.GRANDMASTER.ordinal()] = config.skillingRelicMinXpGra();
+        combatRelicNpcLevel = new int[TIER_COUNT];
+        combatRelicNpcLevel[SkillTier.APPRENTICE.ordinal()] = config.combatRelicNpcLevelApp();
+        combatRelicNpcLevel[SkillTier.JOURNEYMAN.ordinal()] = config.combatRelicNpcLevelJour();
+        combatRelicNpcLevel[SkillTier.EXPERT.ordinal()] = config.combatRelicNpcLevelExp();
+        combatRelicNpcLevel[SkillTier.MASTER.ordinal()] = config.combatRelicNpcLevelMas();
+        tierWeights = new int[TIER_COUNT];
+        tierWeights[SkillTier.APPRENTICE.ordinal()] = config.apprenticeTierWeight();
+        tierWeights[SkillTier.JOURNEYMAN.ordinal()] = config.journeymanTierWeight();
+        tierWeights[SkillTier.EXPERT.ordinal()] = config.expertTierWeight();
+        tierWeights[SkillTier.MASTER.ordinal()] = config.masterTierWeight();
+        tierWeights[SkillTier.GRANDMASTER.ordinal()] = config.grandmasterTierWeight();
+
+        showItemRestrictions = config.showItemRestrictions();
+        itemRestrictionStyle = config.itemRestrictionStyle();
+        itemRestrictionColor = config.itemRestrictionColor();
+        showSkillTierVisuals = config.showSkillTierVisuals();
+        questRestrictionMode = config.questRestrictionMode();
+        showChoiceOverlay = config.showChoiceOverlay();
+        playUnlockEmote = config.playUnlockEmote();
+        showUnlockGraphic = config.showUnlockGraphic();
+
+        warnOnRestrictedXpGain = config.warnOnRestrictedXpGain();
+        warnOnRestrictedAreaEntry = config.warnOnRestrictedAreaEntry();
+        warnOnRestrictedItemUse = config.warnOnRestrictedItemUse();
+        attemptBlockRestrictedItemUse = config.attemptBlockRestrictedItemUse();
+    }
+
+    /**
+     * Reads every value from config. Goes through the ConfigManager for each one; call only on a config change.
+     */
+    public static RelicHunterSettings read(RelicHunterConfig config) {
+        return new RelicHunterSettings(config);
+    }
+
+    /**
+     * Gets the minimum XP drop for a skilling relic of the given named tier (APPRENTICE .. GRANDMASTER).
+     */
+    public int getSkillingRelicMinXp(SkillTier tier) {
+        return skillingRelicMinXp[tier.ordinal()];
+    }
+
+    /**
+     * Gets the maximum NPC combat level for a combat relic of the given named tier (APPRENTICE .. MASTER).
+     */
+    public int getCombatRelicNpcLevel(SkillTier tier) {
+        return combatRelicNpcLevel[tier.ordinal()];
+    }
+
+    /**
+     * Gets the relative weight of a relic drop landing on the given named tier; 0 for LOCKED and LEVEL_* tiers.
+     */
+    public int getTierWeight(SkillTier tier) {
+        return tierWeights[tier.ordinal()];
+    }
+}
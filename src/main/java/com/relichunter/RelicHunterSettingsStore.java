@@ -0,0 +1,48 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/RelicHunterSettingsStore.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+
+/**
+ * Holds the current {@link RelicHunterSettings} snapshot.
+ * The snapshot is replaced wholesale whenever a value in the plugin's config group changes,
+ * so event handlers and overlays never have to go through the ConfigManager.
+ */
+@Slf4j
+@Singleton
+public class RelicHunterSettingsStore {
+
+    private final RelicHunterConfig config;
+
+    private volatile RelicHunterSettings settings;
+
+    @Inject
+    private RelicHunterSettingsStore(RelicHunterConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Re-reads all settings from config and publishes them as the new snapshot.
+     * Should be called on startup and whenever a key in the plugin's config group changes.
+     */
+    public void reload() {
+        this.settings = RelicHunterSettings.read(config);
+        log.trace("Settings snapshot reloaded.");
+    }
+
+    /**
+     * Gets the current settings snapshot, reading it from config first if it was never loaded.
+     * @return An immutable snapshot; callers may hold on to it for the duration of an event or frame.
+     */
+    public RelicHunterSettings get() {
+        RelicHunterSettings current = settings;
+        if (current == null) {
+            current = RelicHunterSettings.read(config);
+            settings = current;
+        }
+        return current;
+    }
+}
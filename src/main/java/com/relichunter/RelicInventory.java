@@ -0,0 +1,254 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/RelicInventory.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.client.config.ConfigManager;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Holds the number of relics of each type and tier the player has.
+ * <p>
+ * Counts live in one array indexed by {@link #index(RelicType, SkillTier)} and are changed atomically,
+ * so two drops in the same tick (or a drop racing an activation) cannot lose an update.
+ * They are stored in config as one compact value under {@link #CONFIG_KEY}, e.g.
+ * {@code SKILLING=1,0,0,0,0;COMBAT=0,2,0,0,0;EXPLORATION=0,0,0,0,0}, written at most once per
+ * {@link #PERSIST_DELAY_SECONDS} after a change and again on shutdown. The value is shown in the config
+ * panel, so counts can still be corrected by hand; an edit there is picked up by {@link #onConfigChanged}.
+ * The 15 per-tier keys used by older versions are migrated into that value the first time it is loaded.
+ */
+@Slf4j
+@Singleton
+public class RelicInventory {
+
+    static final String CONFIG_KEY = "relicInventory";
+    static final int PERSIST_DELAY_SECONDS = 5;
+
+    /** The tiers a relic can have, in the order they are serialized. Shared, so never modify it. */
+    public static final SkillTier[] RELIC_TIERS = {
+            SkillTier.APPRENTICE, SkillTier.JOURNEYMAN, SkillTier.EXPERT, SkillTier.MASTER, SkillTier.GRANDMASTER
+    };
+    private static final RelicType[] RELIC_TYPES = RelicType.values();
+    private static final int TIER_COUNT = SkillTier.values().length;
+    /** Size of the arrays indexed by {@link #index(RelicType, SkillTier)}. */
+    static final int SIZE = RELIC_TYPES.length * TIER_COUNT;
+
+    private final ConfigManager configManager;
+    private final RelicHunterConfig config;
+    private final ScheduledExecutorService executor;
+
+    private final AtomicIntegerArray counts = new AtomicIntegerArray(SIZE);
+    private final AtomicBoolean persistScheduled = new AtomicBoolean();
+    // The value last written to (or read from) config; guarded by this
+    private String persistedValue;
+
+    @Inject
+    private RelicInventory(ConfigManager configManager, RelicHunterConfig config, ScheduledExecutorService executor) {
+        this.configManager = configManager;
+        this.config = config;
+        this.executor = executor;
+    }
+
+    /**
+     * Index of a type and tier in the count arrays.
+     */
+    static int index(RelicType type, SkillTier tier) {
+        return type.ordinal() * TIER_COUNT + tier.ordinal();
+    }
+
+    /**
+     * Loads the counts from config, migrating the legacy per-tier keys if the compact value is not set yet.
+     * Should be called on startup.
+     */
+    public synchronized void load() {
+        String stored = config.relicInventory();
+        if (stored == null || stored.isEmpty()) {
+            migrateLegacyKeys();
+            return;
+        }
+        apply(stored);
+    }
+
+    /**
+     * Called when the stored value changed. Our own writes are ignored; anything else
+     * (a profile switch, a manual edit) replaces the in-memory counts.
+     * @return true if the counts were replaced.
+     */
+    public synchronized boolean onConfigChanged(String newValue) {
+        if (Objects.equals(newValue, persistedValue)) {
+            return false;
+        }
+        if (newValue == null || newValue.isEmpty()) {
+            clearCounts();
+            persistedValue = newValue;
+        } else {
+            apply(newValue);
+        }
+        log.debug("Relic inventory reloaded after an external config change.");
+        return true;
+    }
+
+    public int getCount(RelicType type, SkillTier tier) {
+        return type != null && tier != null ? counts.get(index(type, tier)) : 0;
+    }
+
+    /**
+     * Copies every count into the given array without allocating.
+     * @param dest An array of at least {@link #SIZE} entries, indexed by {@link #index(RelicType, SkillTier)}.
+     * @return The total number of relics held.
+     */
+    public int copyCounts(int[] dest) {
+        int total = 0;
+        for (int i = 0; i < SIZE; i++) {
+            int count = counts.get(i);
+            dest[i] = count;
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Adds one relic and schedules it to be persisted.
+     * @return The new count.
+     */
+    public int increment(RelicType type, SkillTier tier) {
+        int count = counts.incrementAndGet(index(type, tier));
+        schedulePersist();
+        return count;
+    }
+
+    /**
+     * Removes one relic if any are held, in one atomic step.
+     * @return true if a relic was removed; false if the count was already zero.
+     */
+    public boolean decrementIfPositive(RelicType type, SkillTier tier) {
+        int i = index(type, tier);
+        int count;
+        do {
+            count = counts.get(i);
+            if (count <= 0) {
+                return false;
+            }
+        } while (!counts.compareAndSet(i, count, count - 1));
+        schedulePersist();
+        return true;
+    }
+
+    /**
+     * Sets every count to zero and removes the stored value right away. Used when progression is reset.
+     */
+    public synchronized void reset() {
+        clearCounts();
+        persistedValue = null;
+        configManager.unsetConfiguration(RelicHunterPlugin.CONFIG_GROUP, CONFIG_KEY);
+    }
+
+    /**
+     * Writes the counts to config now if they changed since the last write. Called by the scheduled
+     * persist and on shutdown.
+     */
+    public synchronized void persist() {
+        persistScheduled.set(false);
+        String value = serialize();
+        if (value.equals(persistedValue)) {
+            return;
+        }
+        persistedValue = value;
+        configManager.setConfiguration(RelicHunterPlugin.CONFIG_GROUP, CONFIG_KEY, value);
+        log.debug("Persisted relic inventory: {}", value);
+    }
+
+    private void schedulePersist() {
+        // Any number of changes within the delay end up in one config write
+        if (persistScheduled.compareAndSet(false, true)) {
+            executor.schedule(this::persist, PERSIST_DELAY_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void clearCounts() {
+        for (int i = 0; i < SIZE; i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    void apply(String value) {
+        clearCounts();
+        for (String entry : value.split(";")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                continue;
+            }
+            RelicType type;
+            try {
+                type = RelicType.valueOf(entry.substring(0, separator).trim());
+            } catch (IllegalArgumentException e) {
+                log.warn("Ignoring relic counts for unknown type in '{}'", entry);
+                continue;
+            }
+            String[] tierCounts = entry.substring(separator + 1).split(",");
+            for (int t = 0; t < tierCounts.length && t < RELIC_TIERS.length; t++) {
+                try {
+                    counts.set(index(type, RELIC_TIERS[t]), Math.max(0, Integer.parseInt(tierCounts[t].trim())));
+                } catch (NumberFormatException e) {
+                    log.warn("Ignoring invalid {} {} relic count '{}'", type, RELIC_TIERS[t], tierCounts[t]);
+                }
+            }
+        }
+        persistedValue = value;
+    }
+
+    String serialize() {
+        StringBuilder sb = new StringBuilder(RELIC_TYPES.length * 24);
+        for (RelicType type : RELIC_TYPES) {
+            if (sb.length() > 0) {
+                sb.append(';');
+            }
+            sb.append(type.name()).append('=');
+            for (int t = 0; t < RELIC_TIERS.length; t++) {
+                if (t > 0) {
+                    sb.append(',');
+                }
+                sb.append(counts.get(index(type, RELIC_TIERS[t])));
+            }
+        }
+        return sb.toString();
+    }
+
+    private void migrateLegacyKeys() {
+        clearCounts();
+        List<String> migratedKeys = new ArrayList<>();
+        for (RelicType type : RELIC_TYPES) {
+            for (SkillTier tier : RELIC_TIERS) {
+                String key = legacyConfigKey(type, tier);
+                Integer count = configManager.getConfiguration(RelicHunterPlugin.CONFIG_GROUP, key, Integer.class);
+                if (count != null) {
+                    counts.set(index(type, tier), Math.max(0, count));
+                    migratedKeys.add(key);
+                }
+            }
+        }
+        persistedValue = null;
+        if (migratedKeys.isEmpty()) {
+            return;
+        }
+        // Write the combined value before unsetting anything, so an interrupted migration loses no counts
+        persist();
+        for (String key : migratedKeys) {
+            configManager.unsetConfiguration(RelicHunterPlugin.CONFIG_GROUP, key);
+        }
+        log.info("Migrated {} legacy relic count keys into '{}'.", migratedKeys.size(), CONFIG_KEY);
+    }
+
+    // e.g. "skillingRelicsApprentice"
+    private static String legacyConfigKey(RelicType type, SkillTier tier) {
+        return type.name().toLowerCase() + "Relics" + tier.getDisplayName();
+    }
+}
@@ -0,0 +1,64 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/RelicRandom.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Source of randomness for relic drops and activation choices.
+ * <p>
+ * Every {@link RelicSource} gets its own {@link SplittableRandom} stream, split from one seed in a fixed
+ * order, plus one more stream for shuffling activation choices. Rolls for one source never touch another
+ * source's state, and the same seed with the same sequence of events gives exactly the same drops, which
+ * is what lets a recorded session be replayed offline.
+ * <p>
+ * The source streams are not thread-safe and are only used from the client thread, where all drop events
+ * arrive; the choice stream is locked because activations can start from the Swing thread.
+ */
+@Slf4j
+@Singleton
+public class RelicRandom {
+
+    private static final RelicSource[] SOURCES = RelicSource.values();
+
+    // Indexed by RelicSource.ordinal()
+    private final SplittableRandom[] sourceStreams = new SplittableRandom[SOURCES.length];
+    private final SplittableRandom choiceStream;
+
+    /** Seeded randomly; the seed is logged so a session can be reproduced. */
+    @Inject
+    public RelicRandom() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    public RelicRandom(long seed) {
+        SplittableRandom root = new SplittableRandom(seed);
+        for (RelicSource source : SOURCES) {
+            sourceStreams[source.ordinal()] = root.split();
+        }
+        choiceStream = root.split();
+        log.debug("Relic random streams seeded with {}", seed);
+    }
+
+    /**
+     * Gets the stream for one relic source. Both the drop roll and the tier roll for that source use it.
+     * Client thread only.
+     */
+    public SplittableRandom forSource(RelicSource source) {
+        return sourceStreams[source.ordinal()];
+    }
+
+    /**
+     * Shuffles a list in place (Fisher-Yates) using the choice stream.
+     */
+    public synchronized <T> void shuffle(List<T> list) {
+        for (int i = list.size() - 1; i > 0; i--) {
+            int j = choiceStream.nextInt(i + 1);
+            list.set(j, list.set(i, list.get(j)));
+        }
+    }
+}
@@ -4,13 +4,18 @@ package com.relichunter;
 
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics2D;
-// import java.awt.Point; // <<< Remove AWT Point import
-import net.runelite.api.Point; // <<< Import RuneLite API Point
 import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.HashMap; // Keep HashMap import if needed elsewhere, maybe not? Check imports
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
 import net.runelite.api.Client;
@@ -22,7 +27,6 @@ import net.runelite.client.ui.overlay.Overlay;
 import net.runelite.client.ui.overlay.OverlayLayer;
 import net.runelite.client.ui.overlay.OverlayPosition;
 import net.runelite.client.ui.overlay.OverlayPriority;
-import net.runelite.client.ui.overlay.OverlayUtil;
 import net.runelite.client.util.ColorUtil;
 
 /**
@@ -32,7 +36,7 @@ public class SkillTabOverlay extends Overlay {
 
     private final Client client;
     private final RelicHunterPlugin plugin;
-    private final RelicHunterConfig config;
+    private final RelicHunterSettingsStore settingsStore;
 
     private static final Color LOCKED_TINT_COLOR = ColorUtil.colorWithAlpha(Color.BLACK, 150);
     private static final Color LEVEL_CAP_COLOR = Color.YELLOW;
@@ -52,11 +56,25 @@ public class SkillTabOverlay extends Overlay {
         SKILL_WIDGET_INDEX_MAP = Collections.unmodifiableMap(map);
     }
 
+    private static final Rectangle[] NO_BOUNDS = new Rectangle[0];
+    private static final BufferedImage[] NO_LABELS = new BufferedImage[0];
+
+    // Render model, rebuilt only when a tier changes, the skills tab moves or the font changes
+    private volatile boolean modelDirty = true;
+    private Rectangle modelContainerBounds;
+    private Rectangle[] lockedTints = NO_BOUNDS;
+    private BufferedImage[] capLabels = NO_LABELS;
+    private int[] capLabelX = new int[0];
+    private int[] capLabelY = new int[0];
+    // Pre-rendered cap labels by level cap, valid for glyphFont
+    private final Map<Integer, BufferedImage> capLabelCache = new HashMap<>();
+    private Font glyphFont;
+
     @Inject
-    private SkillTabOverlay(Client client, RelicHunterPlugin plugin, RelicHunterConfig config) {
+    private SkillTabOverlay(Client client, RelicHunterPlugin plugin, RelicHunterSettingsStore settingsStore) {
         this.client = client;
         this.plugin = plugin;
-        this.config = config;
+        this.settingsStore = settingsStore;
 
         setPosition(OverlayPosition.DYNAMIC);
         setLayer(OverlayLayer.ABOVE_WIDGETS);
@@ -65,7 +83,7 @@ public class SkillTabOverlay extends Overlay {
 
     @Override
     public Dimension render(Graphics2D graphics) {
-        if (!config.showSkillTierVisuals() || client.getGameState() != GameState.LOGGED_IN) {
+        if (!settingsStore.get().isShowSkillTierVisuals() || client.getGameState() != GameState.LOGGED_IN) {
             return null;
         }
 
@@ -74,57 +92,117 @@ public class SkillTabOverlay extends Overlay {
             return null;
         }
 
+        Rectangle containerBounds = skillsContainer.getBounds();
+        if (modelDirty || graphics.getFont() != glyphFont || !containerBounds.equals(modelContainerBounds)) {
+            rebuildModel(graphics, skillsContainer, containerBounds);
+        }
+
+        if (lockedTints.length > 0) {
+            graphics.setColor(LOCKED_TINT_COLOR);
+            for (Rectangle bounds : lockedTints) {
+                graphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+            }
+        }
+        for (int i = 0; i < capLabels.length; i++) {
+            graphics.drawImage(capLabels[i], capLabelX[i], capLabelY[i], null);
+        }
+        return null;
+    }
+
+    /**
+     * Marks the cached tints and labels stale. Call when any skill tier changes.
+     */
+    public void invalidate() {
+        modelDirty = true;
+    }
+
+    /**
+     * Recomputes per-skill tint bounds and cap label positions for the current tiers and widget layout.
+     */
+    private void rebuildModel(Graphics2D graphics, Widget skillsContainer, Rectangle containerBounds) {
+        // Cleared first so a tier change arriving mid-build marks the model dirty again
+        modelDirty = false;
+        modelContainerBounds = containerBounds;
+        if (graphics.getFont() != glyphFont) {
+            glyphFont = graphics.getFont();
+            capLabelCache.clear();
+        }
+        lockedTints = NO_BOUNDS;
+        capLabels = NO_LABELS;
+        capLabelX = new int[0];
+        capLabelY = new int[0];
+
         Widget[] skillWidgets = skillsContainer.getStaticChildren();
         if (skillWidgets == null || skillWidgets.length == 0) {
             skillWidgets = skillsContainer.getDynamicChildren();
         }
         if (skillWidgets == null || skillWidgets.length == 0) {
-            return null;
+            return;
         }
 
-        for (Skill skill : Skill.values()) {
-            if (skill == Skill.OVERALL) continue;
-
-            Integer widgetIndex = SKILL_WIDGET_INDEX_MAP.get(skill);
-            Widget skillWidget = null;
-            if (widgetIndex != null && widgetIndex >= 0 && widgetIndex < skillWidgets.length) {
-                skillWidget = skillWidgets[widgetIndex];
+        List<Rectangle> tints = new ArrayList<>();
+        int skillCount = SKILL_WIDGET_INDEX_MAP.size();
+        BufferedImage[] labels = new BufferedImage[skillCount];
+        int[] labelX = new int[skillCount];
+        int[] labelY = new int[skillCount];
+        int labelCount = 0;
+        for (Map.Entry<Skill, Integer> entry : SKILL_WIDGET_INDEX_MAP.entrySet()) {
+            Skill skill = entry.getKey();
+            int widgetIndex = entry.getValue();
+            Widget skillWidget = widgetIndex < skillWidgets.length ? skillWidgets[widgetIndex] : null;
+            if (skillWidget == null || skillWidget.isHidden()) {
+                continue;
+            }
+            boolean isMeleeSkill = (skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE);
+            if (isMeleeSkill) {
+                continue;
             }
 
-            if (skillWidget != null && !skillWidget.isHidden()) {
-                SkillTier currentTier = plugin.getSkillTier(skill);
-                boolean isMeleeSkill = (skill == Skill.ATTACK || skill == Skill.STRENGTH || skill == Skill.DEFENCE);
-
-                Rectangle bounds = skillWidget.getBounds();
-                // Check for valid bounds
-                if (bounds == null || bounds.width <= 0 || bounds.height <= 0) continue;
-
-                // Draw tint if skill is LOCKED (only for non-melee skills)
-                if (!isMeleeSkill && currentTier == SkillTier.LOCKED) {
-                    graphics.setColor(LOCKED_TINT_COLOR);
-                    graphics.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
-                }
-
-                // Draw level cap for non-melee skills using SkillTier leveling
-                if (!isMeleeSkill && currentTier != SkillTier.LOCKED && currentTier != SkillTier.GRANDMASTER) {
-                    String levelCapText = String.valueOf(currentTier.getLevelCap());
-                    int textWidth = graphics.getFontMetrics().stringWidth(levelCapText);
-
-                    // --- NEW POSITIONING (e.g., Top-Right) ---
-                    // Adjust X to be near the right edge
-                    // Adjust Y to be near the top edge (considering font ascent)
-                    int textX = bounds.x + bounds.width - textWidth - 2; // X: Right-aligned minus padding
-                    int textY = bounds.y + graphics.getFontMetrics().getAscent() + 1; // Y: Top-aligned plus padding below ascent
-                    Point textPoint = new Point(textX, textY);
-                    // --- End NEW POSITIONING ---
-
-                    // Calculate shadow point using integer coordinates from textPoint
-                    Point shadowPoint = new Point(textPoint.getX() + 1, textPoint.getY() + 1);
-                    OverlayUtil.renderTextLocation(graphics, shadowPoint, levelCapText, Color.BLACK); // Shadow
-                    OverlayUtil.renderTextLocation(graphics, textPoint, levelCapText, LEVEL_CAP_COLOR); // Text
-                }
+            Rectangle bounds = skillWidget.getBounds();
+            // Check for valid bounds
+            if (bounds == null || bounds.width <= 0 || bounds.height <= 0) continue;
+
+            SkillTier currentTier = plugin.getSkillTier(skill);
+            // Tint if skill is LOCKED (only for non-melee skills)
+            if (currentTier == SkillTier.LOCKED) {
+                tints.add(bounds);
+            }
+            // Level cap for non-melee skills using SkillTier leveling, in the top-right corner
+            else if (currentTier != SkillTier.GRANDMASTER) {
+                BufferedImage label = capLabelCache.computeIfAbsent(currentTier.getLevelCap(), cap -> renderCapLabel(graphics, cap));
+                labels[labelCount] = label;
+                labelX[labelCount] = bounds.x + bounds.width - label.getWidth() - 1;
+                labelY[labelCount] = bounds.y + 1;
+                labelCount++;
             }
         }
-        return null;
+
+        lockedTints = tints.toArray(NO_BOUNDS);
+        capLabels = Arrays.copyOf(labels, labelCount);
+        capLabelX = Arrays.copyOf(labelX, labelCount);
+        capLabelY = Arrays.copyOf(labelY, labelCount);
+    }
+
+    /**
+     * Renders a level cap as a yellow number with a 1px black drop shadow, sized to fit exactly.
+     */
+    private static BufferedImage renderCapLabel(Graphics2D graphics, int levelCap) {
+        String text = String.valueOf(levelCap);
+        Font font = graphics.getFont();
+        FontMetrics metrics = graphics.getFontMetrics(font);
+        BufferedImage image = new BufferedImage(metrics.stringWidth(text) + 1, metrics.getAscent() + metrics.getDescent() + 1,
+                BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setFont(font);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, graphics.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING));
+            g.setColor(Color.BLACK);
+            g.drawString(text, 1, metrics.getAscent() + 1); // Shadow
+            g.setColor(LEVEL_CAP_COLOR);
+            g.drawString(text, 0, metrics.getAscent()); // Text
+        } finally {
+            g.dispose();
+        }
+        return image;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,192 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/TierRoller.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Rolls the tier of a relic drop from the configured tier weights.
+ * <p>
+ * A drop can land on any named tier up to the highest one it is eligible for (its cap). For each of the
+ * five possible caps an alias table (Walker/Vose) over the tiers up to that cap is built once, whenever the
+ * weights change, so a roll is two random numbers and two array reads. The tables use integer thresholds,
+ * so each tier comes up with exactly weight / total probability.
+ */
+@Slf4j
+@Singleton
+public class TierRoller {
+
+    private static final SkillTier[] RELIC_TIERS = RelicInventory.RELIC_TIERS;
+    // Index into RELIC_TIERS of the highest named tier at or below each SkillTier; -1 if there is none
+    private static final int[] CAP_INDEX_BY_ORDINAL = buildCapIndex();
+
+    private final Supplier<RelicHunterSettings> settings;
+
+    private volatile AliasTables tables;
+
+    @Inject
+    private TierRoller(RelicHunterSettingsStore settingsStore) {
+        this(settingsStore::get);
+    }
+
+    /**
+     * Creates a roller outside of the plugin, e.g. for the offline simulator.
+     * @param settings Supplies the current settings; the tables are rebuilt when its tier weights change.
+     */
+    public TierRoller(Supplier<RelicHunterSettings> settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Rolls a tier at or below the given maximum.
+     * @param maxPossibleTier The highest tier the drop is eligible for.
+     * @return The rolled named tier; null for LOCKED. If no named tier up to the maximum has a weight,
+     * the maximum itself is returned.
+     */
+    public SkillTier roll(SkillTier maxPossibleTier, SplittableRandom random) {
+        if (maxPossibleTier == null || maxPossibleTier == SkillTier.LOCKED) {
+            return null;
+        }
+        int cap = CAP_INDEX_BY_ORDINAL[maxPossibleTier.ordinal()];
+        AliasTables current = currentTables();
+        if (cap < 0 || current.totals[cap] <= 0) {
+            log.warn("No valid tiers/weights for rolling up to max tier {}. Defaulting to max.", maxPossibleTier);
+            return maxPossibleTier;
+        }
+        int column = random.nextInt(cap + 1);
+        boolean keep = random.nextInt(current.totals[cap]) < current.thresholds[cap][column];
+        return RELIC_TIERS[keep ? column : current.aliases[cap][column]];
+    }
+
+    /**
+     * Gets the exact chance that a drop capped at {@code maxPossibleTier} lands on {@code tier}.
+     * @return A probability in [0, 1]; 0 if the tier is above the cap or is not a named tier.
+     */
+    public double getProbability(SkillTier maxPossibleTier, SkillTier tier) {
+        if (maxPossibleTier == null || tier == null) {
+            return 0;
+        }
+        int cap = CAP_INDEX_BY_ORDINAL[maxPossibleTier.ordinal()];
+        int index = indexOf(tier);
+        AliasTables current = currentTables();
+        if (cap < 0 || index < 0 || index > cap || current.totals[cap] <= 0) {
+            return 0;
+        }
+        return (double) current.weights[index] / current.totals[cap];
+    }
+
+    private AliasTables currentTables() {
+        RelicHunterSettings currentSettings = settings.get();
+        AliasTables current = tables;
+        if (current == null || !current.matches(currentSettings)) {
+            current = new AliasTables(currentSettings);
+            tables = current;
+            log.debug("Rebuilt relic tier alias tables for weights {}.", (Object) current.weights);
+        }
+        return current;
+    }
+
+    private static int indexOf(SkillTier tier) {
+        for (int i = 0; i < RELIC_TIERS.length; i++) {
+            if (RELIC_TIERS[i] == tier) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] buildCapIndex() {
+        SkillTier[] tiers = SkillTier.values();
+        int[] capIndex = new int[tiers.length];
+        for (SkillTier tier : tiers) {
+            int cap = -1;
+            for (int i = 0; i < RELIC_TIERS.length; i++) {
+                if (RELIC_TIERS[i].ordinal() <= tier.ordinal()) {
+                    cap = i;
+                }
+            }
+            capIndex[tier.ordinal()] = cap;
+        }
+        return capIndex;
+    }
+
+    /**
+     * One alias table per cap. Table {@code c} covers RELIC_TIERS[0..c]: pick a column uniformly, keep it
+     * if a roll below totals[c] falls under its threshold, otherwise take its alias.
+     */
+    private static final class AliasTables {
+        final int[] weights = new int[RELIC_TIERS.length];
+        final int[] totals = new int[RELIC_TIERS.length];
+        final int[][] thresholds = new int[RELIC_TIERS.length][];
+        final int[][] aliases = new int[RELIC_TIERS.length][];
+
+        AliasTables(RelicHunterSettings settings) {
+            for (int i = 0; i < RELIC_TIERS.length; i++) {
+                weights[i] = Math.max(0, settings.getTierWeight(RELIC_TIERS[i]));
+            }
+            int total = 0;
+            for (int cap = 0; cap < RELIC_TIERS.length; cap++) {
+                total += weights[cap];
+                totals[cap] = total;
+                thresholds[cap] = new int[cap + 1];
+                aliases[cap] = new int[cap + 1];
+                if (total > 0) {
+                    build(cap + 1, total, thresholds[cap], aliases[cap]);
+                }
+            }
+        }
+
+        boolean matches(RelicHunterSettings settings) {
+            for (int i = 0; i < RELIC_TIERS.length; i++) {
+                if (weights[i] != Math.max(0, settings.getTierWeight(RELIC_TIERS[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Vose's method on weights scaled by n, so every column holds exactly `total` worth of probability
+        private void build(int n, int total, int[] threshold, int[] alias) {
+            long[] scaled = new long[n];
+            int[] small = new int[n];
+            int[] large = new int[n];
+            int smallCount = 0;
+            int largeCount = 0;
+            for (int i = 0; i < n; i++) {
+                scaled[i] = (long) weights[i] * n;
+                if (scaled[i] < total) {
+                    small[smallCount++] = i;
+                } else {
+                    large[largeCount++] = i;
+                }
+            }
+            while (smallCount > 0 && largeCount > 0) {
+                int s = small[--smallCount];
+                int l = large[--largeCount];
+                threshold[s] = (int) scaled[s];
+                alias[s] = l;
+                scaled[l] -= total - scaled[s];
+                if (scaled[l] < total) {
+                    small[smallCount++] = l;
+                } else {
+                    large[largeCount++] = l;
+                }
+            }
+            while (largeCount > 0) {
+                int l = large[--largeCount];
+                threshold[l] = total;
+                alias[l] = l;
+            }
+            // Cannot happen with exact integer sums, but never leave a column without a valid threshold
+            while (smallCount > 0) {
+                int s = small[--smallCount];
+                threshold[s] = total;
+                alias[s] = s;
+            }
+        }
+    }
+}
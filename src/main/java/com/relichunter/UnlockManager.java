@@ -4,178 +4,238 @@ package com.relichunter;
 
 import com.google.inject.Singleton;
 import com.relichunter.unlock.UnlockData;
-import com.relichunter.unlock.UnlockType;
+import com.relichunter.unlock.UnlockDatabaseVariant;
+import com.relichunter.unlock.UnlockIndex;
 import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
 import net.runelite.api.Skill; // Keep Skill import
 
 import javax.inject.Inject;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.BitSet;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Manages the master database of all defined Unlockable content, loaded from JSON.
  * Provides methods to query this database and check prerequisites/permissions.
+ * <p>
+ * The database ({@link UnlockIndex}) and everything derived from the player's unlocks are held in one
+ * immutable {@link UnlockState} snapshot that is replaced with a single volatile write. Readers (overlays,
+ * roll handlers) never lock; they keep seeing the previous snapshot until a new one is published.
+ * Only writers (database swaps, unlock refreshes) serialize on {@link #writeLock}.
+ * <p>
+ * Every {@link UnlockDatabaseVariant} is kept resident once loaded, so switching between the P2P and
+ * F2P databases only re-derives the player's unlock state against the already built index.
  */
 @Slf4j
 @Singleton
 public class UnlockManager {
 
-    private Map<String, UnlockData> unlockDatabase = Collections.emptyMap();
-    private Map<String, Set<String>> prerequisiteCache = Collections.emptyMap();
-    // Cache mapping Item ID -> Specific Item Unlock ID (if one exists)
-    private Map<Integer, String> itemSpecificUnlockIdCache = Collections.emptyMap();
-    // Cache mapping Item ID -> Set of Gear Tier Unlock IDs it belongs to
-    private Map<Integer, Set<String>> itemGearTierUnlockIdsCache = Collections.emptyMap();
+    private final UnlockStateStore unlockStateStore;
 
+    private final Object writeLock = new Object();
+    private volatile UnlockState state = UnlockState.EMPTY;
+    // All loaded databases, replaced as a whole by publishIndexes(); only touched while holding writeLock.
+    private Map<UnlockDatabaseVariant, UnlockIndex> indexes = new EnumMap<>(UnlockDatabaseVariant.class);
+    private UnlockDatabaseVariant activeVariant = UnlockDatabaseVariant.P2P;
+    // Follows the player's unlocks over the current index; only touched while holding writeLock.
+    private AvailabilityTracker availabilityTracker = new AvailabilityTracker(UnlockIndex.EMPTY);
+    // Most recent ticket handed out by beginLoad(); older loads finishing late are discarded.
+    private int latestLoadTicket;
 
     @Inject
-    private UnlockManager() {
-        // Initialization logic moved to loadData
+    private UnlockManager(UnlockStateStore unlockStateStore) {
+        this.unlockStateStore = unlockStateStore;
     }
 
     /**
-     * Loads and processes the unlock data from the parsed list.
-     * Should be called by the plugin during startup.
+     * Loads and processes the unlock data from the parsed list, on the calling thread.
+     * The result replaces every variant. Prefer building the indexes off-thread and calling
+     * {@link #publishIndexes(Map, int)}.
      * @param loadedUnlocks List of UnlockData parsed from JSON.
      */
-    public synchronized void loadData(List<UnlockData> loadedUnlocks) {
+    public void loadData(List<UnlockData> loadedUnlocks) {
         if (loadedUnlocks == null || loadedUnlocks.isEmpty()) {
             log.warn("Unlock database is empty or null. Clearing existing data.");
-            this.unlockDatabase = Collections.emptyMap();
-            this.prerequisiteCache = Collections.emptyMap();
-            this.itemSpecificUnlockIdCache = Collections.emptyMap();
-            this.itemGearTierUnlockIdsCache = Collections.emptyMap();
-            return;
         }
+        UnlockIndex index = UnlockIndex.build(loadedUnlocks);
+        Map<UnlockDatabaseVariant, UnlockIndex> allVariants = new EnumMap<>(UnlockDatabaseVariant.class);
+        for (UnlockDatabaseVariant variant : UnlockDatabaseVariant.values()) {
+            allVariants.put(variant, index);
+        }
+        publishIndexes(allVariants, beginLoad());
+    }
 
-        Map<String, UnlockData> newDatabase = new ConcurrentHashMap<>();
-        Map<String, Set<String>> newPrereqCache = new ConcurrentHashMap<>();
-        Map<Integer, String> newSpecificItemCache = new ConcurrentHashMap<>();
-        Map<Integer, Set<String>> newGearTierCache = new ConcurrentHashMap<>();
-
-        // *** Enhanced Loop for Debugging ***
-        for (int i = 0; i < loadedUnlocks.size(); i++) {
-            UnlockData unlock = loadedUnlocks.get(i);
-            String currentId = "UNKNOWN_ID_AT_INDEX_" + i; // Default ID for logging if unlock or its ID is null
-
-            try {
-                if (unlock == null) {
-                    log.error("Encountered a null UnlockData object in the loaded list at index {}! Skipping.", i);
-                    continue;
-                }
-                currentId = unlock.getId(); // Get ID early
-
-                if (currentId == null || currentId.isBlank()) {
-                    log.warn("Skipping unlock at index {} with missing or blank ID (Name: {}).", i, unlock.getName());
-                    continue;
-                }
-                if (newDatabase.containsKey(currentId)) {
-                    log.warn("Duplicate Unlock ID detected! Skipping duplicate entry for ID: {} at index {}.", currentId, i);
-                    continue;
-                }
-
-                // *** More Detailed Logging ***
-                SkillTier parsedTier = unlock.getRequiredTier(); // Get the tier parsed by Gson
-                log.trace("Processing index: {}, Unlock ID: {}. Parsed requiredTier by Gson: {}", i, currentId, parsedTier);
-
-                // *** Line 64 Check (where the error occurs) ***
-                if (parsedTier == null) {
-                    log.error(">>> NullPointerException about to occur! Unlock ID {} (at index {}) has a null requiredTier field after Gson parsing! Check the JSON entry for this ID. Skipping this entry.", currentId, i);
-                    // You could add more details here if UnlockData has the raw JSON string stored, e.g.:
-                    // log.error("Problematic JSON snippet (if available): {}", unlock.getRawJsonSnippet());
-                    continue; // Skip this invalid entry
-                }
-                // *** End of Detailed Logging ***
-
-                // If we reach here, parsedTier is not null
-                newDatabase.put(currentId, unlock);
-
-                // Populate prerequisite cache
-                newPrereqCache.put(currentId, unlock.getPrerequisites() != null ? Set.copyOf(unlock.getPrerequisites()) : Collections.emptySet());
-
-                // Populate item caches
-                if (unlock.getItemIds() != null && !unlock.getItemIds().isEmpty()) {
-                    if (unlock.getCategory() == UnlockType.SPECIFIC_ITEM) {
-                        for (Integer itemId : unlock.getItemIds()) {
-                            if (newSpecificItemCache.containsKey(itemId)) {
-                                log.warn("Item ID {} is defined in multiple SPECIFIC_ITEM unlocks ({} and {}). Using the latter.",
-                                        itemId, newSpecificItemCache.get(itemId), currentId);
-                            }
-                            newSpecificItemCache.put(itemId, currentId);
-                        }
-                    } else if (unlock.getCategory() == UnlockType.GEAR_TIER) {
-                        for (Integer itemId : unlock.getItemIds()) {
-                            newGearTierCache.computeIfAbsent(itemId, k -> ConcurrentHashMap.newKeySet()).add(currentId);
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                // Catch any unexpected exception during the processing of a single unlock
-                log.error("Unexpected exception processing unlock with ID '{}' (at index {}):", currentId, i, e);
-                // Continue to the next unlock if possible
-            }
-        } // End of for loop
+    /**
+     * Reserves a ticket for a database load that is about to start. Only the load holding the most
+     * recent ticket may publish, so a slow load can never overwrite a newer one.
+     */
+    public int beginLoad() {
+        synchronized (writeLock) {
+            return ++latestLoadTicket;
+        }
+    }
 
+    /**
+     * Swaps in a fully built set of databases and activates the selected variant, together with the
+     * player's unlock state computed against it. Variants missing from the map are treated as empty.
+     * @param newIndexes The new databases.
+     * @param loadTicket The ticket from {@link #beginLoad()} taken before the load started.
+     * @return false if a newer load (or a clear) superseded this one and the indexes were discarded.
+     */
+    public boolean publishIndexes(Map<UnlockDatabaseVariant, UnlockIndex> newIndexes, int loadTicket) {
+        UnlockIndex active;
+        synchronized (writeLock) {
+            if (loadTicket != latestLoadTicket) {
+                log.debug("Discarding superseded unlock database load (ticket {}, latest {}).", loadTicket, latestLoadTicket);
+                return false;
+            }
+            indexes = new EnumMap<>(newIndexes);
+            active = activate(activeVariant);
+        }
+        log.info("Processed {} unlocks into the {} database.", active.size(), activeVariant);
+        return true;
+    }
 
-        this.unlockDatabase = newDatabase;
-        this.prerequisiteCache = newPrereqCache;
-        this.itemSpecificUnlockIdCache = newSpecificItemCache;
-        this.itemGearTierUnlockIdsCache = newGearTierCache;
+    /**
+     * Switches to another resident database. Cheap: the index is already built, only the player's
+     * unlock state is re-derived. If the databases are still loading, the choice is applied when they land.
+     * @return true if the active database changed.
+     */
+    public boolean selectDatabase(UnlockDatabaseVariant variant) {
+        synchronized (writeLock) {
+            if (variant == activeVariant && state.index == indexes.getOrDefault(variant, UnlockIndex.EMPTY)) {
+                return false;
+            }
+            activeVariant = variant;
+            activate(variant);
+        }
+        log.info("Switched to the {} unlock database.", variant);
+        return true;
+    }
 
-        log.info("Processed {} unlocks into the database.", this.unlockDatabase.size());
+    private UnlockIndex activate(UnlockDatabaseVariant variant) {
+        UnlockIndex index = indexes.getOrDefault(variant, UnlockIndex.EMPTY);
+        availabilityTracker = new AvailabilityTracker(index);
+        publishState(index);
+        return index;
     }
 
-    /** Clears the loaded database. */
-    public synchronized void clearDatabase() {
-        this.unlockDatabase = Collections.emptyMap();
-        this.prerequisiteCache = Collections.emptyMap();
-        this.itemSpecificUnlockIdCache = Collections.emptyMap();
-        this.itemGearTierUnlockIdsCache = Collections.emptyMap();
+    /** Clears the loaded database and discards any load still in flight. */
+    public void clearDatabase() {
+        synchronized (writeLock) {
+            latestLoadTicket++;
+            indexes = new EnumMap<>(UnlockDatabaseVariant.class);
+            availabilityTracker = new AvailabilityTracker(UnlockIndex.EMPTY);
+            state = new UnlockState(UnlockIndex.EMPTY, new long[0], new BitSet(), new int[0], state.generation + 1);
+        }
         log.info("Cleared unlock database.");
     }
 
+    /**
+     * Rebuilds the unlocked ordinal set, available counts and item permission bitmap from the current
+     * unlock state snapshot. Must be called after every change to the unlocked IDs; database swaps do it themselves.
+     */
+    public void refreshUnlockState() {
+        synchronized (writeLock) {
+            publishState(state.index);
+        }
+    }
+
+    private void publishState(UnlockIndex index) {
+        long[] unlocked = index.toUnlockedWords(unlockStateStore.getUnlockedIds());
+        BitSet restrictedItems = index.computeRestrictedItems(unlocked);
+        availabilityTracker.update(unlocked);
+        state = new UnlockState(index, unlocked, restrictedItems, availabilityTracker.copyAvailableCounts(), state.generation + 1);
+        log.debug("Rebuilt unlock state: {} unlocked, {} restricted items (highest unlocked gear tier: {}).",
+                BitSet.valueOf(unlocked).cardinality(), restrictedItems.cardinality(), index.getHighestUnlockedGearTier(unlocked));
+    }
+
+    /**
+     * @return A number that changes whenever a new unlock state is published (unlock refresh or database swap),
+     * so callers can cheaply tell whether anything they derived from it is stale.
+     */
+    public int getStateGeneration() {
+        return state.generation;
+    }
+
+    /** @return The currently published database. */
+    public UnlockIndex getIndex() {
+        return state.index;
+    }
+
     /**
      * Gets an UnlockData entry by its unique ID.
      * @param id The unique ID.
      * @return Optional containing the UnlockData if found.
      */
     public Optional<UnlockData> getUnlockById(String id) {
-        return Optional.ofNullable(unlockDatabase.get(id));
+        return Optional.ofNullable(state.index.getUnlockById(id));
+    }
+
+    /**
+     * Checks if the "QUEST_" unlock for the given quest is part of the player's current unlocks.
+     * @param ordinal The quest's unlock ordinal from {@link UnlockIndex#getQuestUnlockOrdinal}, as cached by the caller.
+     * If it is {@link UnlockIndex#NO_UNLOCK} (e.g. a P2P quest while on the F2P database), the stored
+     * {@code QUEST_<name>} ID decides instead.
+     */
+    public boolean isQuestUnlocked(int ordinal, Quest quest) {
+        if (ordinal == UnlockIndex.NO_UNLOCK) {
+            return unlockStateStore.isUnlocked("QUEST_" + quest.name());
+        }
+        return UnlockIndex.isSet(state.unlocked, ordinal);
     }
 
     /**
      * Gets all potential unlocks matching the specified Relic type and tier.
      * @param type The RelicType required.
      * @param tier The SkillTier of the relic being used.
-     * @return A list of matching UnlockData entries.
+     * @return An unmodifiable view of the prebuilt bucket for this type and tier.
      */
     public List<UnlockData> getPotentialUnlocks(RelicType type, SkillTier tier) {
-        return unlockDatabase.values().stream()
-                .filter(unlock -> unlock.getRelicType() == type)
-                .filter(unlock -> unlock.getRequiredTier() == tier) // Direct enum comparison
-                .collect(Collectors.toList());
+        return state.index.getPotentialUnlocks(type, tier);
     }
 
     /**
-     * Checks if all prerequisites for a given unlock ID are met based on the set of currently unlocked IDs.
-     * Uses a cache for efficiency.
-     * @param unlockId The ID of the unlock to check.
-     * @param currentlyUnlockedIds The set of IDs the player has already unlocked.
-     * @return true if all prerequisites are met, false otherwise.
+     * Gets the ordinals of all potential unlocks matching the specified Relic type and tier.
+     * @param type The RelicType required.
+     * @param tier The SkillTier of the relic being used.
+     * @return Ordinals in load order. This is the shared prebuilt array and must not be modified.
      */
-    public boolean arePrerequisitesMet(String unlockId, Set<String> currentlyUnlockedIds) {
-        Set<String> prereqs = prerequisiteCache.getOrDefault(unlockId, Collections.emptySet());
-        if (prereqs.isEmpty()) {
-            return true; // No prerequisites
-        }
-        return currentlyUnlockedIds.containsAll(prereqs);
+    public int[] getPotentialUnlockOrdinals(RelicType type, SkillTier tier) {
+        return state.index.getPotentialUnlockOrdinals(type, tier);
+    }
+
+    /**
+     * Picks the choices a relic of the given type and tier offers right now, with
+     * {@link RelicDropRules#offerChoices}. Evaluated against a single snapshot, so it is consistent even if
+     * a database swap happens concurrently.
+     * @return A new list of at most {@link RelicDropRules#CHOICES_OFFERED} unlocks; empty if nothing can be rolled.
+     */
+    public List<UnlockData> offerChoices(RelicType type, SkillTier tier, RelicRandom random) {
+        UnlockState current = state;
+        return RelicDropRules.offerChoices(current.index, current.unlocked, type, tier, random);
+    }
+
+    /**
+     * Gets the number of unlocks a relic of the given type and tier could roll right now
+     * (not yet unlocked, all prerequisites met). Maintained incrementally on every unlock change.
+     */
+    public int getAvailableUnlockCount(RelicType type, SkillTier tier) {
+        return AvailabilityTracker.getAvailableCount(state.availableCounts, type, tier);
+    }
+
+    /**
+     * Checks if all prerequisites of the given unlock are part of the player's current unlocks.
+     * @param ordinal The unlock ordinal.
+     * @return true if all prerequisites are met, false otherwise (including unknown ordinals).
+     */
+    public boolean arePrerequisitesMet(int ordinal) {
+        UnlockState current = state;
+        return current.index.arePrerequisitesMet(ordinal, current.unlocked);
     }
 
     /**
@@ -189,62 +249,59 @@ public class UnlockManager {
      * Returns true if the item is not found in any relevant unlock definition (assumed unrestricted).
      */
     public boolean isItemPermittedByUnlocks(int itemId, Set<String> currentlyUnlockedIds) {
-        // 1. Check SPECIFIC_ITEM unlock cache
-        String specificUnlockId = itemSpecificUnlockIdCache.get(itemId);
-        if (specificUnlockId != null) {
-            log.trace("Item {} found specific unlock ID {}. Checking if unlocked...", itemId, specificUnlockId);
-            // If a specific unlock exists for this item, permission depends *only* on whether that specific unlock is active.
-            boolean permitted = currentlyUnlockedIds.contains(specificUnlockId);
-            log.trace("Item {} specific unlock {} {} unlocked.", itemId, specificUnlockId, permitted ? "IS" : "IS NOT");
-            return permitted;
-        }
+        UnlockIndex index = state.index;
+        return index.isItemPermitted(itemId, index.toUnlockedWords(currentlyUnlockedIds));
+    }
 
-        // 2. Check GEAR_TIER unlock cache
-        Set<String> relevantGearTierIds = itemGearTierUnlockIdsCache.get(itemId);
-        if (relevantGearTierIds != null && !relevantGearTierIds.isEmpty()) {
-            log.trace("Item {} found in gear tiers: {}.", itemId, relevantGearTierIds);
-
-            // Find the *minimum* required SkillTier among all gear tiers this item belongs to.
-            SkillTier minimumRequiredTier = relevantGearTierIds.stream()
-                    .map(this::getUnlockById) // Get UnlockData for each tier ID
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .map(UnlockData::getRequiredTier) // Get the SkillTier required for that unlock
-                    .filter(java.util.Objects::nonNull) // Ensure tier is not null
-                    .min(Comparator.comparing(SkillTier::ordinal)) // Find the lowest tier (based on enum order)
-                    .orElse(null); // Should not happen if cache is populated correctly, but handle defensively
-
-            if (minimumRequiredTier == null) {
-                log.error("Could not determine minimum required tier for item {} despite being in gear tier cache {}. Assuming restricted.", itemId, relevantGearTierIds);
-                return false; // Treat as restricted if we can't determine the minimum requirement
-            }
+    /**
+     * Checks an item against the precomputed permission bitmap for the player's current unlocks.
+     * This is the per-frame overlay path: a single bit lookup, no allocation.
+     * @param itemId The item ID to check.
+     * @return true if the item may be used with the current unlocks.
+     */
+    public boolean isItemAllowed(int itemId) {
+        return itemId < 0 || !state.restrictedItems.get(itemId);
+    }
 
-            log.trace("Item {} minimum required SkillTier determined as: {}", itemId, minimumRequiredTier);
-
-            // Check if *any* currently unlocked gear tier is >= the minimum required tier.
-            boolean hasSufficientTierUnlocked = currentlyUnlockedIds.stream()
-                    .map(this::getUnlockById)
-                    .filter(Optional::isPresent)
-                    .map(Optional::get)
-                    .filter(ud -> ud.getCategory() == UnlockType.GEAR_TIER) // Only consider unlocked GEAR_TIERs
-                    .map(UnlockData::getRequiredTier)
-                    .filter(java.util.Objects::nonNull)
-                    .anyMatch(unlockedTier -> unlockedTier.ordinal() >= minimumRequiredTier.ordinal()); // Check if unlocked tier is >= minimum required
-
-            if (hasSufficientTierUnlocked) {
-                log.trace("Item {} permitted because a gear tier >= {} is unlocked.", itemId, minimumRequiredTier);
-                return true;
-            } else {
-                log.trace("Item {} restricted because no unlocked gear tier is >= {}.", itemId, minimumRequiredTier);
-                return false;
-            }
+    /**
+     * Classifies a batch of item IDs (e.g. a whole bank) against a single unlock state snapshot, in one pass.
+     * @param itemIds The item IDs to check; negative IDs (empty or unknown slots) are never restricted.
+     * @param restricted Receives, at each index, true if the player may NOT use that item. At least as long as itemIds.
+     * @return The {@link #getStateGeneration() state generation} the batch was classified against.
+     */
+    public int classifyItems(int[] itemIds, boolean[] restricted) {
+        UnlockState current = state;
+        BitSet restrictedItems = current.restrictedItems;
+        for (int i = 0; i < itemIds.length; i++) {
+            int itemId = itemIds[i];
+            restricted[i] = itemId >= 0 && restrictedItems.get(itemId);
         }
-
-        // 3. Default: Item not found in specific unlocks or gear tiers - assume permitted.
-        log.trace("Item {} not found in specific or gear tier unlocks. Assuming permitted.", itemId);
-        return true;
+        return current.generation;
     }
 
+    /**
+     * Everything the read path needs, published as one unit so a reader can never pair
+     * unlocked ordinals from one database with the index of another.
+     */
+    private static final class UnlockState {
+        static final UnlockState EMPTY = new UnlockState(UnlockIndex.EMPTY, new long[0], new BitSet(), new int[0], 0);
+
+        final UnlockIndex index;
+        // Unlocked ordinals as BitSet words
+        final long[] unlocked;
+        // Item ID indexed bitmap of items the player may NOT use with their current unlocks
+        final BitSet restrictedItems;
+        final int[] availableCounts;
+        final int generation;
+
+        UnlockState(UnlockIndex index, long[] unlocked, BitSet restrictedItems, int[] availableCounts, int generation) {
+            this.index = index;
+            this.unlocked = unlocked;
+            this.restrictedItems = restrictedItems;
+            this.availableCounts = availableCounts;
+            this.generation = generation;
+        }
+    }
 
     // --- Static Helper Methods (kept from original for ID generation consistency) ---
     // These might need adjustment depending on final ID format in JSON
@@ -0,0 +1,70 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/UnlockStateStore.java
+package com.relichunter;
+
+import com.google.inject.Singleton;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.inject.Inject;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Holds an immutable snapshot of the player's unlocked content IDs.
+ * The snapshot is read from config once and replaced wholesale whenever an unlock is committed or the stored
+ * "unlockedRelics" value changes, so overlays and roll paths never have to go through
+ * the ConfigManager (which re-parses the whole set on every call).
+ */
+@Slf4j
+@Singleton
+public class UnlockStateStore {
+
+    private final RelicHunterConfig config;
+
+    // Always an immutable set; replaced, never mutated, so readers need no locking.
+    private volatile Set<String> unlockedIds = Collections.emptySet();
+
+    @Inject
+    private UnlockStateStore(RelicHunterConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * Re-reads the unlocked IDs from config and publishes them as the new snapshot.
+     * Should be called on startup and whenever the "unlockedRelics" config key changes.
+     */
+    public void reload() {
+        Set<String> stored = config.unlockedRelics();
+        this.unlockedIds = stored != null ? Set.copyOf(stored) : Collections.emptySet();
+        log.debug("Unlock state snapshot reloaded ({} unlocked IDs).", this.unlockedIds.size());
+    }
+
+    /**
+     * Publishes an in-memory change to the unlocked IDs ahead of it being written to config.
+     * Used by {@link ProgressionRepository} when it commits an unlock.
+     */
+    public void publish(Set<String> unlocked) {
+        this.unlockedIds = Set.copyOf(unlocked);
+    }
+
+    /** Drops the current snapshot. Used on plugin shutdown. */
+    public void clear() {
+        this.unlockedIds = Collections.emptySet();
+    }
+
+    /**
+     * Gets the current snapshot of unlocked IDs.
+     * @return An immutable set; callers may hold on to it, it will not change underneath them.
+     */
+    public Set<String> getUnlockedIds() {
+        return unlockedIds;
+    }
+
+    /**
+     * Checks if the given unlock ID is part of the current snapshot.
+     * @param unlockId The unlock ID to check.
+     * @return true if unlocked.
+     */
+    public boolean isUnlocked(String unlockId) {
+        return unlockId != null && unlockedIds.contains(unlockId);
+    }
+}
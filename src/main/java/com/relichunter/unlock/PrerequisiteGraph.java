@@ -0,0 +1,271 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/unlock/PrerequisiteGraph.java
+package com.relichunter.unlock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable prerequisite graph over the unlock database, built once per load.
+ * <p>
+ * Nodes are unlock ordinals (the index in the list passed to {@link #build(List)}). Prerequisite IDs that
+ * do not exist in the database become external nodes numbered after the last unlock: they have no
+ * prerequisites of their own and can only be satisfied by IDs already stored in config.
+ * Both edge directions are kept as int arrays, so walking from an unlock to its direct dependents
+ * never touches strings or collections.
+ */
+public final class PrerequisiteGraph {
+
+    private final int unlockCount;
+    private final Map<String, Integer> ordinalsById;
+    private final String[] idsByOrdinal;
+    // Per unlock ordinal: prerequisite ordinals (may include external nodes)
+    private final int[][] prerequisites;
+    // Per node ordinal (unlocks and external nodes): unlock ordinals that require it
+    private final int[][] dependents;
+    // Unlock ordinals such that every prerequisite comes before its dependents; excludes cycle-blocked unlocks
+    private final int[] topologicalOrder;
+    // Unlock ordinals that sit on a prerequisite cycle (or on a chain between two cycles)
+    private final int[] cyclicOrdinals;
+    // Unlock ordinals that cannot be ordered because a prerequisite chain runs into a cycle
+    private final int[] blockedOrdinals;
+    // Human readable "UNLOCK -> MISSING_PREREQUISITE" entries
+    private final List<String> danglingReferences;
+    private final int edgeCount;
+    private final int maxDepth;
+
+    private PrerequisiteGraph(int unlockCount, Map<String, Integer> ordinalsById, String[] idsByOrdinal,
+                              int[][] prerequisites, List<String> danglingReferences) {
+        this.unlockCount = unlockCount;
+        this.ordinalsById = Collections.unmodifiableMap(ordinalsById);
+        this.idsByOrdinal = idsByOrdinal;
+        this.prerequisites = prerequisites;
+        this.danglingReferences = Collections.unmodifiableList(danglingReferences);
+        this.dependents = invert(prerequisites, idsByOrdinal.length);
+        this.edgeCount = Arrays.stream(prerequisites).mapToInt(edges -> edges.length).sum();
+
+        int[] depth = new int[unlockCount];
+        this.topologicalOrder = sortTopologically(depth);
+        this.maxDepth = Arrays.stream(depth).max().orElse(0);
+
+        boolean[] ordered = new boolean[unlockCount];
+        for (int ordinal : topologicalOrder) {
+            ordered[ordinal] = true;
+        }
+        this.cyclicOrdinals = findCyclic(ordered);
+        boolean[] cyclic = new boolean[unlockCount];
+        for (int ordinal : cyclicOrdinals) {
+            cyclic[ordinal] = true;
+        }
+        int[] blocked = new int[unlockCount - topologicalOrder.length - cyclicOrdinals.length];
+        int blockedCount = 0;
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            if (!ordered[ordinal] && !cyclic[ordinal]) {
+                blocked[blockedCount++] = ordinal;
+            }
+        }
+        this.blockedOrdinals = blocked;
+    }
+
+    /**
+     * Builds the graph for the given unlocks. Unlock ordinals are list indices; IDs must be unique and non-null.
+     * @param unlocks The accepted unlocks, in ordinal order.
+     */
+    public static PrerequisiteGraph build(List<UnlockData> unlocks) {
+        int unlockCount = unlocks.size();
+        Map<String, Integer> ordinalsById = new HashMap<>(unlockCount * 2);
+        List<String> ids = new ArrayList<>(unlockCount);
+        for (UnlockData unlock : unlocks) {
+            ordinalsById.put(unlock.getId(), ids.size());
+            ids.add(unlock.getId());
+        }
+
+        int[][] prerequisites = new int[unlockCount][];
+        List<String> danglingReferences = new ArrayList<>();
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            UnlockData unlock = unlocks.get(ordinal);
+            // LinkedHashSet drops duplicate and null entries while keeping the JSON order
+            Set<String> prerequisiteIds = unlock.getPrerequisites() != null
+                    ? new LinkedHashSet<>(unlock.getPrerequisites())
+                    : Collections.emptySet();
+            prerequisiteIds.remove(null);
+            int[] edges = new int[prerequisiteIds.size()];
+            int edgeIndex = 0;
+            for (String prerequisiteId : prerequisiteIds) {
+                Integer prerequisiteOrdinal = ordinalsById.get(prerequisiteId);
+                if (prerequisiteOrdinal == null || prerequisiteOrdinal >= unlockCount) {
+                    danglingReferences.add(unlock.getId() + " -> " + prerequisiteId);
+                }
+                if (prerequisiteOrdinal == null) {
+                    prerequisiteOrdinal = ids.size();
+                    ordinalsById.put(prerequisiteId, prerequisiteOrdinal);
+                    ids.add(prerequisiteId);
+                }
+                edges[edgeIndex++] = prerequisiteOrdinal;
+            }
+            prerequisites[ordinal] = edges;
+        }
+
+        return new PrerequisiteGraph(unlockCount, ordinalsById, ids.toArray(new String[0]), prerequisites, danglingReferences);
+    }
+
+    /** @return Number of unlock nodes; unlock ordinals are {@code 0 .. getUnlockCount() - 1}. */
+    public int getUnlockCount() {
+        return unlockCount;
+    }
+
+    /** @return Number of nodes including external prerequisite nodes. */
+    public int getNodeCount() {
+        return idsByOrdinal.length;
+    }
+
+    /** @return ID -> node ordinal, covering unlocks and external prerequisite IDs. Unmodifiable. */
+    public Map<String, Integer> getOrdinalsById() {
+        return ordinalsById;
+    }
+
+    public String getId(int ordinal) {
+        return idsByOrdinal[ordinal];
+    }
+
+    /** @return Direct prerequisite ordinals of an unlock. Shared array, do not modify. */
+    public int[] getPrerequisites(int unlockOrdinal) {
+        return prerequisites[unlockOrdinal];
+    }
+
+    /** @return Unlock ordinals that directly require the given node. Shared array, do not modify. */
+    public int[] getDependents(int ordinal) {
+        return dependents[ordinal];
+    }
+
+    /** @return Orderable unlock ordinals, prerequisites first. Shared array, do not modify. */
+    public int[] getTopologicalOrder() {
+        return topologicalOrder;
+    }
+
+    public int[] getCyclicOrdinals() {
+        return cyclicOrdinals;
+    }
+
+    public int[] getBlockedOrdinals() {
+        return blockedOrdinals;
+    }
+
+    public List<String> getDanglingReferences() {
+        return danglingReferences;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /** @return Length of the longest prerequisite chain among orderable unlocks (0 = no prerequisites). */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public boolean isAcyclic() {
+        return cyclicOrdinals.length == 0;
+    }
+
+    private static int[][] invert(int[][] prerequisites, int nodeCount) {
+        int[] dependentCounts = new int[nodeCount];
+        for (int[] edges : prerequisites) {
+            for (int prerequisite : edges) {
+                dependentCounts[prerequisite]++;
+            }
+        }
+        int[][] inverted = new int[nodeCount][];
+        for (int node = 0; node < nodeCount; node++) {
+            inverted[node] = new int[dependentCounts[node]];
+            dependentCounts[node] = 0;
+        }
+        for (int ordinal = 0; ordinal < prerequisites.length; ordinal++) {
+            for (int prerequisite : prerequisites[ordinal]) {
+                inverted[prerequisite][dependentCounts[prerequisite]++] = ordinal;
+            }
+        }
+        return inverted;
+    }
+
+    /**
+     * Kahn's algorithm over the unlock nodes. External nodes have no prerequisites, so they are
+     * treated as already satisfied. Fills {@code depth} with the longest chain ending at each unlock.
+     */
+    private int[] sortTopologically(int[] depth) {
+        int[] remainingPrerequisites = new int[unlockCount];
+        Deque<Integer> ready = new ArrayDeque<>();
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            for (int prerequisite : prerequisites[ordinal]) {
+                if (prerequisite < unlockCount) {
+                    remainingPrerequisites[ordinal]++;
+                }
+            }
+            if (remainingPrerequisites[ordinal] == 0) {
+                ready.add(ordinal);
+            }
+        }
+
+        int[] order = new int[unlockCount];
+        int orderedCount = 0;
+        while (!ready.isEmpty()) {
+            int ordinal = ready.poll();
+            order[orderedCount++] = ordinal;
+            for (int dependent : dependents[ordinal]) {
+                depth[dependent] = Math.max(depth[dependent], depth[ordinal] + 1);
+                if (--remainingPrerequisites[dependent] == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return Arrays.copyOf(order, orderedCount);
+    }
+
+    /**
+     * Of the unlocks Kahn's algorithm could not order, repeatedly peels off those no other
+     * unordered unlock depends on. What remains is on a cycle or chained between cycles.
+     */
+    private int[] findCyclic(boolean[] ordered) {
+        int[] remainingDependents = new int[unlockCount];
+        Deque<Integer> leaves = new ArrayDeque<>();
+        boolean[] peeled = new boolean[unlockCount];
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            if (ordered[ordinal]) {
+                continue;
+            }
+            for (int dependent : dependents[ordinal]) {
+                if (!ordered[dependent]) {
+                    remainingDependents[ordinal]++;
+                }
+            }
+            if (remainingDependents[ordinal] == 0) {
+                leaves.add(ordinal);
+            }
+        }
+        while (!leaves.isEmpty()) {
+            int ordinal = leaves.poll();
+            peeled[ordinal] = true;
+            for (int prerequisite : prerequisites[ordinal]) {
+                if (prerequisite < unlockCount && !ordered[prerequisite] && --remainingDependents[prerequisite] == 0) {
+                    leaves.add(prerequisite);
+                }
+            }
+        }
+
+        int[] cyclic = new int[unlockCount];
+        int cyclicCount = 0;
+        for (int ordinal = 0; ordinal < unlockCount; ordinal++) {
+            if (!ordered[ordinal] && !peeled[ordinal]) {
+                cyclic[cyclicCount++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(cyclic, cyclicCount);
+    }
+}
@@ -23,6 +23,7 @@ public class UnlockData {
     private Set<Integer> itemIds; // For GEAR_TIER or SPECIFIC_ITEM unlocks
     private String areaDefinition; // For AREA unlocks (e.g., region IDs, chunk coords - format TBD)
     private Integer questId; // For QUEST unlocks (using OSRS Quest ID)
+    private Boolean members; // false = available on F2P worlds, true = members only, null = not annotated yet
     // Add other fields as needed for different categories (e.g., skill name for SKILL_TIER)
 }
 
@@ -0,0 +1,61 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/unlock/UnlockDataInterner.java
+package com.relichunter.unlock;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Deduplicates unlock data across the databases that are kept in memory at the same time.
+ * <p>
+ * Entries that are identical in both files become one shared instance, and strings, prerequisite lists
+ * and item ID sets are canonicalized, so holding the P2P and F2P databases side by side costs little more
+ * than the larger of the two. Canonical lists and sets are unmodifiable. Not thread-safe; use one instance
+ * per load.
+ */
+public final class UnlockDataInterner {
+
+    private final Map<String, String> strings = new HashMap<>();
+    private final Map<List<String>, List<String>> prerequisiteLists = new HashMap<>();
+    private final Map<Set<Integer>, Set<Integer>> itemSets = new HashMap<>();
+    private final Map<UnlockData, UnlockData> unlocks = new HashMap<>();
+
+    /**
+     * Canonicalizes every unlock in the list, in place. Null entries are left for the index builder to report.
+     */
+    public void internAll(List<UnlockData> loadedUnlocks) {
+        for (int i = 0; i < loadedUnlocks.size(); i++) {
+            UnlockData unlock = loadedUnlocks.get(i);
+            if (unlock != null) {
+                loadedUnlocks.set(i, intern(unlock));
+            }
+        }
+    }
+
+    /**
+     * @return The shared instance equal to {@code unlock}, which may be {@code unlock} itself with its fields canonicalized.
+     */
+    public UnlockData intern(UnlockData unlock) {
+        unlock.setId(intern(unlock.getId()));
+        unlock.setName(intern(unlock.getName()));
+        unlock.setDescription(intern(unlock.getDescription()));
+        unlock.setAreaDefinition(intern(unlock.getAreaDefinition()));
+        if (unlock.getPrerequisites() != null) {
+            List<String> prerequisites = unlock.getPrerequisites();
+            for (int i = 0; i < prerequisites.size(); i++) {
+                prerequisites.set(i, intern(prerequisites.get(i)));
+            }
+            unlock.setPrerequisites(prerequisiteLists.computeIfAbsent(prerequisites, Collections::unmodifiableList));
+        }
+        if (unlock.getItemIds() != null) {
+            unlock.setItemIds(itemSets.computeIfAbsent(unlock.getItemIds(), Collections::unmodifiableSet));
+        }
+        return unlocks.computeIfAbsent(unlock, key -> key);
+    }
+
+    private String intern(String value) {
+        return value == null ? null : strings.computeIfAbsent(value, key -> key);
+    }
+}
@@ -0,0 +1,307 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/unlock/UnlockDatabaseCodec.java
+package com.relichunter.unlock;
+
+import com.google.gson.Gson;
+import com.relichunter.RelicType;
+import com.relichunter.SkillTier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of {@link UnlockDatabaseRoot}, precompiled from the JSON sources at build time
+ * (see the compileUnlockDatabase task in build.gradle) so startup does not have to run Gson over the
+ * commented JSON. The JSON files remain the source of truth and the runtime fallback.
+ * <p>
+ * Layout (all counts and references are unsigned LEB128 varints):
+ * <pre>
+ *   int32  MAGIC, uint8 VERSION
+ *   string table: count, then per string its UTF-8 length and bytes
+ *   unlock count, then per unlock:
+ *     id, name, description, category, relicType, requiredTier  (string refs)
+ *     prerequisite count + 1, prerequisite string refs           (0 = null list)
+ *     item count + 1, item IDs ascending as deltas               (0 = null set)
+ *     areaDefinition (string ref), questId + 1                   (0 = null)
+ *     members                                                     (0 = null, 1 = false, 2 = true)
+ * </pre>
+ * String refs are table index + 1, with 0 meaning null. Every string (IDs, prerequisite IDs, enum names)
+ * is stored once, so decoded prerequisite lists share the same String instances as the unlock IDs.
+ */
+public final class UnlockDatabaseCodec {
+
+    public static final String BINARY_EXTENSION = ".bin";
+
+    private static final int MAGIC = 0x52485544; // "RHUD"
+    private static final int VERSION = 2;
+
+    private UnlockDatabaseCodec() {
+    }
+
+    /**
+     * Encodes the database. Enum values are stored by name, so reordering enum constants does not
+     * invalidate compiled files; renaming them does (the loader then falls back to JSON).
+     * Null entries (e.g. from a trailing comma in the JSON array) are dropped.
+     */
+    public static byte[] encode(UnlockDatabaseRoot root) {
+        List<UnlockData> unlocks = new ArrayList<>(root.getUnlocks() != null ? root.getUnlocks() : Collections.emptyList());
+        unlocks.removeIf(Objects::isNull);
+
+        Map<String, Integer> stringRefs = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (UnlockData unlock : unlocks) {
+            intern(unlock.getId(), stringRefs, strings);
+            intern(unlock.getName(), stringRefs, strings);
+            intern(unlock.getDescription(), stringRefs, strings);
+            intern(enumName(unlock.getCategory()), stringRefs, strings);
+            intern(enumName(unlock.getRelicType()), stringRefs, strings);
+            intern(enumName(unlock.getRequiredTier()), stringRefs, strings);
+            if (unlock.getPrerequisites() != null) {
+                unlock.getPrerequisites().forEach(prerequisite -> intern(prerequisite, stringRefs, strings));
+            }
+            intern(unlock.getAreaDefinition(), stringRefs, strings);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 * 1024);
+        writeInt(out, MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, strings.size());
+        for (String string : strings) {
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(out, utf8.length);
+            out.write(utf8, 0, utf8.length);
+        }
+
+        writeVarInt(out, unlocks.size());
+        for (UnlockData unlock : unlocks) {
+            writeVarInt(out, ref(unlock.getId(), stringRefs));
+            writeVarInt(out, ref(unlock.getName(), stringRefs));
+            writeVarInt(out, ref(unlock.getDescription(), stringRefs));
+            writeVarInt(out, ref(enumName(unlock.getCategory()), stringRefs));
+            writeVarInt(out, ref(enumName(unlock.getRelicType()), stringRefs));
+            writeVarInt(out, ref(enumName(unlock.getRequiredTier()), stringRefs));
+
+            List<String> prerequisites = unlock.getPrerequisites();
+            writeVarInt(out, prerequisites == null ? 0 : prerequisites.size() + 1);
+            if (prerequisites != null) {
+                prerequisites.forEach(prerequisite -> writeVarInt(out, ref(prerequisite, stringRefs)));
+            }
+
+            Set<Integer> itemIds = unlock.getItemIds();
+            if (itemIds == null) {
+                writeVarInt(out, 0);
+            } else {
+                int[] sorted = itemIds.stream().mapToInt(Integer::intValue).sorted().toArray();
+                if (sorted.length > 0 && sorted[0] < 0) {
+                    throw new IllegalArgumentException("Negative item ID in unlock " + unlock.getId());
+                }
+                writeVarInt(out, sorted.length + 1);
+                int previous = 0;
+                for (int itemId : sorted) {
+                    writeVarInt(out, itemId - previous);
+                    previous = itemId;
+                }
+            }
+
+            writeVarInt(out, ref(unlock.getAreaDefinition(), stringRefs));
+            Integer questId = unlock.getQuestId();
+            if (questId != null && questId < 0) {
+                throw new IllegalArgumentException("Negative quest ID in unlock " + unlock.getId());
+            }
+            writeVarInt(out, questId == null ? 0 : questId + 1);
+            Boolean members = unlock.getMembers();
+            out.write(members == null ? 0 : members ? 2 : 1);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a database in a single forward pass over the buffer.
+     * @throws IOException if the data is not a compatible encoded database (wrong magic or version,
+     *                     truncated, or referencing enum constants that no longer exist).
+     */
+    public static UnlockDatabaseRoot decode(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an encoded unlock database");
+            }
+            int version = buffer.get() & 0xFF;
+            if (version != VERSION) {
+                throw new IOException("Unsupported unlock database version " + version + " (expected " + VERSION + ")");
+            }
+
+            String[] strings = new String[readVarInt(buffer)];
+            for (int i = 0; i < strings.length; i++) {
+                int length = readVarInt(buffer);
+                if (buffer.hasArray()) {
+                    strings[i] = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                    buffer.position(buffer.position() + length);
+                } else {
+                    byte[] utf8 = new byte[length];
+                    buffer.get(utf8);
+                    strings[i] = new String(utf8, StandardCharsets.UTF_8);
+                }
+            }
+            // Enum lookups resolved once per distinct name rather than once per unlock
+            Map<String, Enum<?>> enums = new HashMap<>();
+
+            int unlockCount = readVarInt(buffer);
+            List<UnlockData> unlocks = new ArrayList<>(unlockCount);
+            for (int i = 0; i < unlockCount; i++) {
+                UnlockData unlock = new UnlockData();
+                unlock.setId(string(strings, readVarInt(buffer)));
+                unlock.setName(string(strings, readVarInt(buffer)));
+                unlock.setDescription(string(strings, readVarInt(buffer)));
+                unlock.setCategory(enumValue(UnlockType.class, string(strings, readVarInt(buffer)), enums));
+                unlock.setRelicType(enumValue(RelicType.class, string(strings, readVarInt(buffer)), enums));
+                unlock.setRequiredTier(enumValue(SkillTier.class, string(strings, readVarInt(buffer)), enums));
+
+                int prerequisiteCount = readVarInt(buffer) - 1;
+                if (prerequisiteCount < 0) {
+                    unlock.setPrerequisites(null);
+                } else if (prerequisiteCount > 0) {
+                    String[] prerequisites = new String[prerequisiteCount];
+                    for (int p = 0; p < prerequisiteCount; p++) {
+                        prerequisites[p] = string(strings, readVarInt(buffer));
+                    }
+                    unlock.setPrerequisites(Arrays.asList(prerequisites));
+                }
+
+                int itemCount = readVarInt(buffer) - 1;
+                if (itemCount >= 0) {
+                    Set<Integer> itemIds = new LinkedHashSet<>(Math.max(16, itemCount * 2));
+                    int itemId = 0;
+                    for (int item = 0; item < itemCount; item++) {
+                        itemId += readVarInt(buffer);
+                        itemIds.add(itemId);
+                    }
+                    unlock.setItemIds(itemIds);
+                }
+
+                unlock.setAreaDefinition(string(strings, readVarInt(buffer)));
+                int questId = readVarInt(buffer) - 1;
+                unlock.setQuestId(questId < 0 ? null : questId);
+                int members = buffer.get();
+                unlock.setMembers(members == 0 ? null : members == 2);
+                unlocks.add(unlock);
+            }
+
+            UnlockDatabaseRoot root = new UnlockDatabaseRoot();
+            root.setUnlocks(unlocks);
+            return root;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Corrupt unlock database", e);
+        }
+    }
+
+    /**
+     * Build-time entry point: {@code UnlockDatabaseCodec <outputDir> <database.json>...}.
+     * Writes {@code <outputDir>/<name>.bin} for every input and fails on JSON that does not round-trip.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: UnlockDatabaseCodec <outputDir> <database.json>...");
+        }
+        Path outputDir = Paths.get(args[0]);
+        Files.createDirectories(outputDir);
+        Gson gson = new Gson();
+        for (int i = 1; i < args.length; i++) {
+            Path input = Paths.get(args[i]);
+            UnlockDatabaseRoot root;
+            try (Reader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+                // Gson reads leniently here, which is what allows the comments in the source files
+                root = gson.fromJson(reader, UnlockDatabaseRoot.class);
+            }
+            if (root == null || root.getUnlocks() == null) {
+                throw new IOException("No unlocks found in " + input);
+            }
+
+            int nullEntries = (int) root.getUnlocks().stream().filter(Objects::isNull).count();
+            if (nullEntries > 0) {
+                System.out.printf("%s: dropping %d null entries (stray commas?)%n", input.getFileName(), nullEntries);
+                root.getUnlocks().removeIf(Objects::isNull);
+            }
+
+            byte[] encoded = encode(root);
+            if (!decode(ByteBuffer.wrap(encoded)).equals(root)) {
+                throw new IOException("Encoded database does not round-trip for " + input);
+            }
+
+            String fileName = input.getFileName().toString();
+            String baseName = fileName.endsWith(".json") ? fileName.substring(0, fileName.length() - 5) : fileName;
+            Path output = outputDir.resolve(baseName + BINARY_EXTENSION);
+            Files.write(output, encoded);
+            System.out.printf("%s: %d unlocks, %d bytes JSON -> %d bytes%n",
+                    fileName, root.getUnlocks().size(), Files.size(input), encoded.length);
+        }
+    }
+
+    private static void intern(String value, Map<String, Integer> stringRefs, List<String> strings) {
+        if (value != null && !stringRefs.containsKey(value)) {
+            stringRefs.put(value, strings.size() + 1);
+            strings.add(value);
+        }
+    }
+
+    private static int ref(String value, Map<String, Integer> stringRefs) {
+        return value == null ? 0 : stringRefs.get(value);
+    }
+
+    private static String string(String[] strings, int ref) {
+        return ref == 0 ? null : strings[ref - 1];
+    }
+
+    private static String enumName(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name, Map<String, Enum<?>> cache) {
+        if (name == null) {
+            return null;
+        }
+        Enum<?> value = cache.computeIfAbsent(type.getName() + '.' + name, key -> Enum.valueOf(type, name));
+        return type.cast(value);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    private static void writeVarInt(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
@@ -0,0 +1,16 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/unlock/UnlockDatabaseVariant.java
+package com.relichunter.unlock;
+
+/**
+ * The unlock databases kept resident side by side; switching between them is a pointer swap.
+ */
+public enum UnlockDatabaseVariant {
+    /** relic_hunter_unlock_database.json */
+    P2P,
+    /** relic_hunter_unlock_database_f2p.json */
+    F2P;
+
+    public static UnlockDatabaseVariant select(boolean useF2P) {
+        return useF2P ? F2P : P2P;
+    }
+}
@@ -0,0 +1,442 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/unlock/UnlockIndex.java
+package com.relichunter.unlock;
+
+import com.relichunter.RelicType;
+import com.relichunter.SkillTier;
+import com.relichunter.util.IntIntHashMap;
+import lombok.extern.slf4j.Slf4j;
+import net.runelite.api.Quest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, fully indexed view of one unlock database.
+ * <p>
+ * Built in one go by {@link #build(List)} (off the client thread) and never modified afterwards, so it can
+ * be published with a single volatile write and read from any thread without locking. Every unlock gets a
+ * dense ordinal in load order; all indexes below are keyed by those ordinals.
+ */
+@Slf4j
+public final class UnlockIndex {
+
+    public static final int NO_UNLOCK = -1;
+
+    private static final UnlockData[] NO_UNLOCKS = new UnlockData[0];
+    private static final int[] NO_ORDINALS = new int[0];
+
+    public static final UnlockIndex EMPTY = build(Collections.emptyList());
+
+    private final Map<String, UnlockData> unlocksById;
+    // Dense ordinal -> UnlockData, in load order. Item caches store these ordinals instead of ID strings.
+    private final UnlockData[] unlocksByOrdinal;
+    // Forward/reverse prerequisite edges between ordinals, with the load-time validation results.
+    // Its ID map also covers prerequisite IDs that are not in this database (e.g. only in the other
+    // P2P/F2P file): they get ordinals past the last unlock, so IDs stored in config can still satisfy them.
+    private final PrerequisiteGraph prerequisiteGraph;
+    // Per ordinal: prerequisite ordinals as BitSet words (see BitSet#toLongArray).
+    private final long[][] prerequisiteMasks;
+    // Quest.ordinal() -> ordinal of its "QUEST_<NAME>" unlock, or NO_UNLOCK.
+    private final int[] questUnlockOrdinals;
+    // (RelicType, SkillTier) -> unlocks a relic of that bucket can roll, in load order.
+    private final Map<RelicType, EnumMap<SkillTier, UnlockData[]>> unlocksByBucket;
+    // Same buckets as unlocksByBucket, holding the matching ordinals at the same positions.
+    private final Map<RelicType, EnumMap<SkillTier, int[]>> ordinalsByBucket;
+    // Item ID -> ordinal of the Specific Item Unlock (if one exists)
+    private final IntIntHashMap itemSpecificUnlockCache;
+    // Item ID -> ordinal of the lowest-tier Gear Tier Unlock it belongs to
+    private final IntIntHashMap itemGearTierUnlockCache;
+
+    private UnlockIndex(Map<String, UnlockData> unlocksById, UnlockData[] unlocksByOrdinal, PrerequisiteGraph prerequisiteGraph,
+                        long[][] prerequisiteMasks, int[] questUnlockOrdinals,
+                        Map<RelicType, EnumMap<SkillTier, UnlockData[]>> unlocksByBucket,
+                        Map<RelicType, EnumMap<SkillTier, int[]>> ordinalsByBucket,
+                        IntIntHashMap itemSpecificUnlockCache, IntIntHashMap itemGearTierUnlockCache) {
+        this.unlocksById = unlocksById;
+        this.unlocksByOrdinal = unlocksByOrdinal;
+        this.prerequisiteGraph = prerequisiteGraph;
+        this.prerequisiteMasks = prerequisiteMasks;
+        this.questUnlockOrdinals = questUnlockOrdinals;
+        this.unlocksByBucket = unlocksByBucket;
+        this.ordinalsByBucket = ordinalsByBucket;
+        this.itemSpecificUnlockCache = itemSpecificUnlockCache;
+        this.itemGearTierUnlockCache = itemGearTierUnlockCache;
+    }
+
+    /**
+     * Validates the loaded unlocks and builds every index over them.
+     * Invalid entries (null, blank or duplicate ID, missing tier) are logged and skipped.
+     * @param loadedUnlocks List of UnlockData parsed from JSON or the precompiled binary.
+     */
+    public static UnlockIndex build(List<UnlockData> loadedUnlocks) {
+        if (loadedUnlocks == null) {
+            loadedUnlocks = Collections.emptyList();
+        }
+        Map<String, UnlockData> newDatabase = new HashMap<>(loadedUnlocks.size() * 2);
+        List<UnlockData> newUnlocksByOrdinal = new ArrayList<>(loadedUnlocks.size());
+        IntIntHashMap newSpecificItemCache = new IntIntHashMap(16, NO_UNLOCK);
+        IntIntHashMap newGearTierCache = new IntIntHashMap(256, NO_UNLOCK);
+        int gearTierMemberships = 0; // (item, gear tier) pairs, only used for the footprint report
+
+        // *** Enhanced Loop for Debugging ***
+        for (int i = 0; i < loadedUnlocks.size(); i++) {
+            UnlockData unlock = loadedUnlocks.get(i);
+            String currentId = "UNKNOWN_ID_AT_INDEX_" + i; // Default ID for logging if unlock or its ID is null
+
+            try {
+                if (unlock == null) {
+                    log.error("Encountered a null UnlockData object in the loaded list at index {}! Skipping.", i);
+                    continue;
+                }
+                currentId = unlock.getId(); // Get ID early
+
+                if (currentId == null || currentId.isBlank()) {
+                    log.warn("Skipping unlock at index {} with missing or blank ID (Name: {}).", i, unlock.getName());
+                    continue;
+                }
+                if (newDatabase.containsKey(currentId)) {
+                    log.warn("Duplicate Unlock ID detected! Skipping duplicate entry for ID: {} at index {}.", currentId, i);
+                    continue;
+                }
+
+                // *** More Detailed Logging ***
+                SkillTier parsedTier = unlock.getRequiredTier(); // Get the tier parsed by Gson
+                log.trace("Processing index: {}, Unlock ID: {}. Parsed requiredTier by Gson: {}", i, currentId, parsedTier);
+
+                // *** Line 64 Check (where the error occurs) ***
+                if (parsedTier == null) {
+                    log.error(">>> NullPointerException about to occur! Unlock ID {} (at index {}) has a null requiredTier field after Gson parsing! Check the JSON entry for this ID. Skipping this entry.", currentId, i);
+                    // You could add more details here if UnlockData has the raw JSON string stored, e.g.:
+                    // log.error("Problematic JSON snippet (if available): {}", unlock.getRawJsonSnippet());
+                    continue; // Skip this invalid entry
+                }
+                // *** End of Detailed Logging ***
+
+                // If we reach here, parsedTier is not null
+                int ordinal = newUnlocksByOrdinal.size();
+                newUnlocksByOrdinal.add(unlock);
+                newDatabase.put(currentId, unlock);
+
+                // Populate item caches
+                if (unlock.getItemIds() != null && !unlock.getItemIds().isEmpty()) {
+                    if (unlock.getCategory() == UnlockType.SPECIFIC_ITEM) {
+                        for (Integer itemId : unlock.getItemIds()) {
+                            int existing = newSpecificItemCache.get(itemId);
+                            if (existing != NO_UNLOCK) {
+                                log.warn("Item ID {} is defined in multiple SPECIFIC_ITEM unlocks ({} and {}). Using the latter.",
+                                        itemId, newUnlocksByOrdinal.get(existing).getId(), currentId);
+                            }
+                            newSpecificItemCache.put(itemId, ordinal);
+                        }
+                    } else if (unlock.getCategory() == UnlockType.GEAR_TIER) {
+                        // Only the lowest tier an item appears in matters for permission checks
+                        for (Integer itemId : unlock.getItemIds()) {
+                            gearTierMemberships++;
+                            int existing = newGearTierCache.get(itemId);
+                            if (existing == NO_UNLOCK || parsedTier.ordinal() < newUnlocksByOrdinal.get(existing).getRequiredTier().ordinal()) {
+                                newGearTierCache.put(itemId, ordinal);
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                // Catch any unexpected exception during the processing of a single unlock
+                log.error("Unexpected exception processing unlock with ID '{}' (at index {}):", currentId, i, e);
+                // Continue to the next unlock if possible
+            }
+        } // End of for loop
+
+        // Second pass: now that every unlock has an ordinal, resolve prerequisite IDs into graph edges and masks
+        PrerequisiteGraph newGraph = PrerequisiteGraph.build(newUnlocksByOrdinal);
+        long[][] newPrerequisiteMasks = new long[newGraph.getUnlockCount()][];
+        for (int ordinal = 0; ordinal < newPrerequisiteMasks.length; ordinal++) {
+            BitSet mask = new BitSet(newGraph.getNodeCount());
+            for (int prerequisite : newGraph.getPrerequisites(ordinal)) {
+                mask.set(prerequisite);
+            }
+            newPrerequisiteMasks[ordinal] = mask.toLongArray();
+        }
+
+        Map<RelicType, EnumMap<SkillTier, UnlockData[]>> newUnlocksByBucket = new EnumMap<>(RelicType.class);
+        Map<RelicType, EnumMap<SkillTier, int[]>> newOrdinalsByBucket = new EnumMap<>(RelicType.class);
+        buildBuckets(newUnlocksByOrdinal, newUnlocksByBucket, newOrdinalsByBucket);
+
+        int[] newQuestUnlockOrdinals = new int[Quest.values().length];
+        for (Quest quest : Quest.values()) {
+            newQuestUnlockOrdinals[quest.ordinal()] = newGraph.getOrdinalsById().getOrDefault("QUEST_" + quest.name(), NO_UNLOCK);
+        }
+
+        if (!newUnlocksByOrdinal.isEmpty()) {
+            logPrerequisiteReport(newGraph);
+            logItemCacheFootprint(newSpecificItemCache, newGearTierCache, gearTierMemberships);
+        }
+        return new UnlockIndex(Collections.unmodifiableMap(newDatabase), newUnlocksByOrdinal.toArray(NO_UNLOCKS), newGraph,
+                newPrerequisiteMasks, newQuestUnlockOrdinals, newUnlocksByBucket, newOrdinalsByBucket,
+                newSpecificItemCache, newGearTierCache);
+    }
+
+    /** @return Number of unlocks; unlock ordinals are {@code 0 .. size() - 1}. */
+    public int size() {
+        return unlocksByOrdinal.length;
+    }
+
+    public UnlockData getUnlockById(String id) {
+        return id != null ? unlocksById.get(id) : null;
+    }
+
+    /**
+     * @return The ordinal, or -1 if the ID is neither an unlock nor a prerequisite in the database.
+     */
+    public int getOrdinal(String id) {
+        Integer ordinal = id != null ? prerequisiteGraph.getOrdinalsById().get(id) : null;
+        return ordinal != null ? ordinal : NO_UNLOCK;
+    }
+
+    /**
+     * @return The UnlockData, or null if the ordinal is out of range.
+     */
+    public UnlockData getUnlockByOrdinal(int ordinal) {
+        return ordinal >= 0 && ordinal < unlocksByOrdinal.length ? unlocksByOrdinal[ordinal] : null;
+    }
+
+    /**
+     * @return The ordinal of the "QUEST_" unlock for the given quest, or -1 if the database has none.
+     */
+    public int getQuestUnlockOrdinal(Quest quest) {
+        return quest != null && quest.ordinal() < questUnlockOrdinals.length ? questUnlockOrdinals[quest.ordinal()] : NO_UNLOCK;
+    }
+
+    /**
+     * @return An unmodifiable view of the prebuilt bucket for this type and tier.
+     */
+    public List<UnlockData> getPotentialUnlocks(RelicType type, SkillTier tier) {
+        return Collections.unmodifiableList(Arrays.asList(lookupBucket(unlocksByBucket, type, tier, NO_UNLOCKS)));
+    }
+
+    /**
+     * @return Ordinals in load order. This is the shared prebuilt array and must not be modified.
+     */
+    public int[] getPotentialUnlockOrdinals(RelicType type, SkillTier tier) {
+        return lookupBucket(ordinalsByBucket, type, tier, NO_ORDINALS);
+    }
+
+    public PrerequisiteGraph getPrerequisiteGraph() {
+        return prerequisiteGraph;
+    }
+
+    /** @return The prerequisite ordinals of an unlock as BitSet words. Shared array, do not modify. */
+    public long[] getPrerequisiteMask(int ordinal) {
+        return prerequisiteMasks[ordinal];
+    }
+
+    /**
+     * Checks if all prerequisites of the given unlock are contained in the given unlocked set.
+     * The check is a word-wise {@code (mask & ~unlocked) == 0}, no hashing.
+     * @param ordinal The unlock ordinal.
+     * @param unlocked Unlocked ordinals as BitSet words (see BitSet#toLongArray).
+     * @return true if all prerequisites are met, false otherwise (including unknown ordinals).
+     */
+    public boolean arePrerequisitesMet(int ordinal, long[] unlocked) {
+        if (ordinal < 0 || ordinal >= prerequisiteMasks.length) {
+            return false;
+        }
+        return containsAll(unlocked, prerequisiteMasks[ordinal]);
+    }
+
+    /**
+     * Translates unlock IDs into ordinal BitSet words. IDs this database knows nothing about are ignored.
+     */
+    public long[] toUnlockedWords(Set<String> unlockedIds) {
+        Map<String, Integer> ordinalsById = prerequisiteGraph.getOrdinalsById();
+        BitSet unlockedOrdinals = new BitSet(ordinalsById.size());
+        for (String unlockedId : unlockedIds) {
+            Integer ordinal = ordinalsById.get(unlockedId);
+            if (ordinal != null) {
+                unlockedOrdinals.set(ordinal);
+            }
+        }
+        return unlockedOrdinals.toLongArray();
+    }
+
+    /**
+     * Builds the bitmap of item IDs that are NOT permitted by the given unlocked set.
+     * Only items referenced by SPECIFIC_ITEM or GEAR_TIER unlocks can ever be restricted.
+     */
+    public BitSet computeRestrictedItems(long[] unlocked) {
+        SkillTier highestGearTier = getHighestUnlockedGearTier(unlocked);
+        BitSet restricted = new BitSet();
+        IntIntHashMap.EntryConsumer restrictIfDenied = (itemId, unlockOrdinal) -> {
+            if (itemId >= 0 && !isItemPermitted(itemId, unlocked, highestGearTier)) {
+                restricted.set(itemId);
+            }
+        };
+        itemSpecificUnlockCache.forEach(restrictIfDenied);
+        itemGearTierUnlockCache.forEach(restrictIfDenied);
+        return restricted;
+    }
+
+    /**
+     * Checks if a specific item is permitted based ONLY on SPECIFIC_ITEM or GEAR_TIER unlocks.
+     * Returns true if the item is not found in any relevant unlock definition (assumed unrestricted).
+     */
+    public boolean isItemPermitted(int itemId, long[] unlocked) {
+        return isItemPermitted(itemId, unlocked, getHighestUnlockedGearTier(unlocked));
+    }
+
+    private boolean isItemPermitted(int itemId, long[] unlocked, SkillTier highestUnlockedGearTier) {
+        // 1. Check SPECIFIC_ITEM unlock cache
+        int specificUnlock = itemSpecificUnlockCache.get(itemId);
+        if (specificUnlock != NO_UNLOCK) {
+            // If a specific unlock exists for this item, permission depends *only* on whether that specific unlock is active.
+            return isSet(unlocked, specificUnlock);
+        }
+
+        // 2. Check GEAR_TIER unlock cache: permitted if *any* unlocked gear tier is >= the item's minimum required tier.
+        int lowestGearTierUnlock = itemGearTierUnlockCache.get(itemId);
+        if (lowestGearTierUnlock != NO_UNLOCK) {
+            SkillTier minimumRequiredTier = unlocksByOrdinal[lowestGearTierUnlock].getRequiredTier();
+            return highestUnlockedGearTier != null && highestUnlockedGearTier.ordinal() >= minimumRequiredTier.ordinal();
+        }
+
+        // 3. Default: Item not found in specific unlocks or gear tiers - assume permitted.
+        return true;
+    }
+
+    /**
+     * Finds the highest SkillTier among the unlocked GEAR_TIER unlocks.
+     * @return The highest tier, or null if no gear tier is unlocked.
+     */
+    public SkillTier getHighestUnlockedGearTier(long[] unlocked) {
+        SkillTier highest = null;
+        BitSet unlockedOrdinals = BitSet.valueOf(unlocked);
+        for (int ordinal = unlockedOrdinals.nextSetBit(0); ordinal >= 0 && ordinal < unlocksByOrdinal.length;
+             ordinal = unlockedOrdinals.nextSetBit(ordinal + 1)) {
+            UnlockData unlock = unlocksByOrdinal[ordinal];
+            if (unlock.getCategory() != UnlockType.GEAR_TIER) {
+                continue;
+            }
+            if (highest == null || unlock.getRequiredTier().ordinal() > highest.ordinal()) {
+                highest = unlock.getRequiredTier();
+            }
+        }
+        return highest;
+    }
+
+    /** @return true if the ordinal's bit is set in the given BitSet words; -1 is never set. */
+    public static boolean isSet(long[] words, int ordinal) {
+        int word = ordinal >> 6;
+        return ordinal >= 0 && word < words.length && (words[word] & (1L << ordinal)) != 0;
+    }
+
+    /** @return true if every bit set in {@code subset} is also set in {@code words}. */
+    public static boolean containsAll(long[] words, long[] subset) {
+        for (int i = 0; i < subset.length; i++) {
+            if ((subset[i] & ~(i < words.length ? words[i] : 0L)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static <T> T lookupBucket(Map<RelicType, EnumMap<SkillTier, T>> buckets, RelicType type, SkillTier tier, T empty) {
+        if (type == null || tier == null) {
+            return empty;
+        }
+        EnumMap<SkillTier, T> byTier = buckets.get(type);
+        T bucket = byTier != null ? byTier.get(tier) : null;
+        return bucket != null ? bucket : empty;
+    }
+
+    /**
+     * Groups the accepted unlocks by (RelicType, SkillTier), preserving load order within each bucket.
+     * Unlocks without a relic type can never be rolled and are left out.
+     */
+    private static void buildBuckets(List<UnlockData> unlocks,
+                                     Map<RelicType, EnumMap<SkillTier, UnlockData[]>> unlockBuckets,
+                                     Map<RelicType, EnumMap<SkillTier, int[]>> ordinalBuckets) {
+        Map<RelicType, EnumMap<SkillTier, List<Integer>>> grouped = new EnumMap<>(RelicType.class);
+        for (int ordinal = 0; ordinal < unlocks.size(); ordinal++) {
+            UnlockData unlock = unlocks.get(ordinal);
+            if (unlock.getRelicType() == null) {
+                log.warn("Unlock {} has no relicType and can never be rolled.", unlock.getId());
+                continue;
+            }
+            grouped.computeIfAbsent(unlock.getRelicType(), type -> new EnumMap<>(SkillTier.class))
+                    .computeIfAbsent(unlock.getRequiredTier(), tier -> new ArrayList<>())
+                    .add(ordinal);
+        }
+
+        grouped.forEach((type, tiers) -> {
+            EnumMap<SkillTier, UnlockData[]> unlocksByTier = new EnumMap<>(SkillTier.class);
+            EnumMap<SkillTier, int[]> ordinalsByTier = new EnumMap<>(SkillTier.class);
+            tiers.forEach((tier, ordinals) -> {
+                int[] bucketOrdinals = ordinals.stream().mapToInt(Integer::intValue).toArray();
+                UnlockData[] bucketUnlocks = new UnlockData[bucketOrdinals.length];
+                for (int i = 0; i < bucketOrdinals.length; i++) {
+                    bucketUnlocks[i] = unlocks.get(bucketOrdinals[i]);
+                }
+                unlocksByTier.put(tier, bucketUnlocks);
+                ordinalsByTier.put(tier, bucketOrdinals);
+            });
+            unlockBuckets.put(type, unlocksByTier);
+            ordinalBuckets.put(type, ordinalsByTier);
+        });
+    }
+
+    /**
+     * Reports dangling prerequisite references and cycles found while building the graph.
+     * Neither stops the load: affected unlocks simply stay unrollable until their prerequisites are met.
+     */
+    private static void logPrerequisiteReport(PrerequisiteGraph graph) {
+        List<String> dangling = graph.getDanglingReferences();
+        if (!dangling.isEmpty()) {
+            log.warn("{} prerequisite references point outside this database ({} distinct IDs); they can only be met by previously stored unlocks.",
+                    dangling.size(), graph.getNodeCount() - graph.getUnlockCount());
+            dangling.forEach(reference -> log.debug("Dangling prerequisite: {}", reference));
+        }
+        if (!graph.isAcyclic()) {
+            log.error("Prerequisite cycle detected! These unlocks can never be rolled: {}", idsOf(graph, graph.getCyclicOrdinals()));
+        }
+        if (graph.getBlockedOrdinals().length > 0) {
+            log.warn("Unlocks depending on a prerequisite cycle: {}", idsOf(graph, graph.getBlockedOrdinals()));
+        }
+        log.info("Prerequisite graph: {} unlocks, {} edges, longest chain {}.",
+                graph.getUnlockCount(), graph.getEdgeCount(), graph.getMaxDepth());
+    }
+
+    private static List<String> idsOf(PrerequisiteGraph graph, int[] ordinals) {
+        List<String> ids = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            ids.add(graph.getId(ordinal));
+        }
+        return ids;
+    }
+
+    /**
+     * Logs the heap footprint of the primitive item caches next to an estimate for the previous
+     * boxed layout (ConcurrentHashMap<Integer, String> plus ConcurrentHashMap<Integer, Set<String>>).
+     * Estimates assume a 64-bit JVM with compressed oops; unlock ID strings are shared and not counted.
+     */
+    private static void logItemCacheFootprint(IntIntHashMap specificItems, IntIntHashMap gearTierItems, int gearTierMemberships) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        // Map node (32) + boxed Integer key (16) + ~1.5 table slots (6) per entry
+        final long boxedEntryBytes = 54;
+        // Per-item key set: ConcurrentHashMap (64) + KeySetView (24) + default 16-slot table (80)
+        final long perItemKeySetBytes = 168;
+        long legacyBytes = specificItems.size() * boxedEntryBytes
+                + gearTierItems.size() * (boxedEntryBytes + perItemKeySetBytes)
+                + gearTierMemberships * 32L; // one map node per (item, gear tier) membership
+        long currentBytes = specificItems.estimatedSizeBytes() + gearTierItems.estimatedSizeBytes();
+        log.info("Item cache footprint: ~{} KiB ({} specific items, {} gear tier items, {} gear tier memberships); previous boxed layout ~{} KiB.",
+                currentBytes / 1024, specificItems.size(), gearTierItems.size(), gearTierMemberships, legacyBytes / 1024);
+    }
+}
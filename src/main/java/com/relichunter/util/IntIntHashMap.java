@@ -0,0 +1,125 @@
+// Filename: RelicHunter/src/main/java/com/relichunter/util/IntIntHashMap.java
+package com.relichunter.util;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing hash map from int keys to int values (linear probing).
+ * Used for the item ID caches that are hit from the render loop, so lookups never box.
+ * Not thread-safe for writes: build it fully, then publish it and only read from it.
+ */
+public final class IntIntHashMap {
+
+    private static final int EMPTY_KEY = Integer.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private final int missingValue;
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * @param expectedSize Number of entries expected, used to size the table up front.
+     * @param missingValue Value returned by {@link #get(int)} for absent keys.
+     */
+    public IntIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Associates the value with the key, replacing any previous value.
+     * @param key Any int except Integer.MIN_VALUE (reserved as the empty marker).
+     * @param value The value to store.
+     */
+    public void put(int key, int value) {
+        if (key == EMPTY_KEY) {
+            throw new IllegalArgumentException("Key " + key + " is reserved");
+        }
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY_KEY) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        if (size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    /**
+     * @return The value for the key, or the configured missing value.
+     */
+    public int get(int key) {
+        if (key == EMPTY_KEY) {
+            return missingValue;
+        }
+        int slot = findSlot(key);
+        return keys[slot] == EMPTY_KEY ? missingValue : values[slot];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Calls the consumer once per entry, in table order. */
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    /**
+     * Approximate retained heap size of this map in bytes (object header plus both arrays),
+     * assuming a 64-bit JVM with compressed oops.
+     */
+    public long estimatedSizeBytes() {
+        return 32 + 2L * (16 + 4L * keys.length);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(int key, int value);
+    }
+
+    private int findSlot(int key) {
+        int slot = mix(key) & mask;
+        while (keys[slot] != EMPTY_KEY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int newCapacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(newCapacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY_KEY) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR);
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    // Item IDs are dense and sequential; scramble them so neighbours don't cluster.
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,213 @@
+// Filename: RelicHunter/src/sim/java/com/relichunter/sim/ProgressionSimulator.java
+package com.relichunter.sim;
+
+import com.google.gson.Gson;
+import com.relichunter.RelicHunterSettings;
+import com.relichunter.TierRoller;
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockDatabaseRoot;
+import com.relichunter.unlock.UnlockDatabaseVariant;
+import com.relichunter.unlock.UnlockIndex;
+import com.relichunter.unlock.UnlockType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Headless Monte-Carlo simulation of relic progression, for tuning drop chances and thresholds.
+ * <p>
+ * Every simulated player runs a synthetic activity stream through its own {@link com.relichunter.RelicDropEngine},
+ * the same code the plugin's event handlers use, against one of the shipped unlock databases. Players run in
+ * parallel on a fork/join pool; each has its own seed derived from {@code --seed}, so a run is reproducible
+ * whatever the thread count.
+ * <p>
+ * Prints, per unlock category, the 10th/50th/90th percentile of hours played until the first unlock, half of
+ * the category and all of it. Run with {@code ./gradlew simulateProgression --args="--players=2000 --hours=200"};
+ * any config item can be overridden by its method name, e.g. {@code --skillingRelicBaseChance=300}.
+ */
+public final class ProgressionSimulator {
+
+    private static final String P2P_DB_PATH = "/relic_hunter_unlock_database.json";
+    private static final String F2P_DB_PATH = "/relic_hunter_unlock_database_f2p.json";
+    // Players simulated per fork/join leaf task
+    private static final int PLAYERS_PER_TASK = 8;
+    private static final double[] PERCENTILES = {0.10, 0.50, 0.90};
+
+    private ProgressionSimulator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        SimulationOptions options = SimulationOptions.parse(args);
+        RelicHunterSettings settings = SimulationSettings.create(options.configOverrides);
+        UnlockIndex index = UnlockIndex.build(loadUnlocks(options.database));
+        if (index.size() == 0) {
+            throw new IllegalStateException("The " + options.database + " unlock database is empty");
+        }
+        TierRoller tierRoller = new TierRoller(() -> settings);
+
+        System.out.printf("Simulating %d players x %d hours on the %s database (%d unlocks), seed %d, %d threads%n",
+                options.players, options.hours, options.database, index.size(), options.seed, options.threads);
+        long startNanos = System.nanoTime();
+
+        float[][] unlockHours = new float[options.players][];
+        int[] relicsFound = new int[options.players];
+        ForkJoinPool pool = new ForkJoinPool(options.threads);
+        try {
+            pool.invoke(new SimulatePlayers(index, settings, tierRoller, options, unlockHours, relicsFound, 0, options.players));
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.printf("Done in %d ms, %.1f relics found per player on average%n%n",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                Arrays.stream(relicsFound).average().orElse(0));
+        printReport(index, unlockHours);
+    }
+
+    private static List<UnlockData> loadUnlocks(UnlockDatabaseVariant database) throws IOException {
+        String path = database == UnlockDatabaseVariant.F2P ? F2P_DB_PATH : P2P_DB_PATH;
+        UnlockDatabaseRoot root;
+        try (InputStream is = ProgressionSimulator.class.getResourceAsStream(path)) {
+            if (is == null) {
+                throw new IOException("Unlock database not found on the classpath: " + path);
+            }
+            try (Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+                root = new Gson().fromJson(reader, UnlockDatabaseRoot.class);
+            }
+        }
+        if (root == null || root.getUnlocks() == null) {
+            throw new IOException("No unlocks found in " + path);
+        }
+        return root.getUnlocks().stream().filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    private static void printReport(UnlockIndex index, float[][] unlockHours) {
+        System.out.printf("%-16s %6s | %-23s | %-23s | %-23s%n", "Category", "Count",
+                "First unlock (h)", "Half unlocked (h)", "All unlocked (h)");
+        System.out.printf("%-16s %6s | %-23s | %-23s | %-23s%n", "", "",
+                "p10 / p50 / p90", "p10 / p50 / p90", "p10 / p50 / p90");
+
+        List<int[]> rows = new ArrayList<>();
+        List<String> labels = new ArrayList<>();
+        for (UnlockType category : UnlockType.values()) {
+            int[] ordinals = ordinalsOf(index, category);
+            if (ordinals.length > 0) {
+                rows.add(ordinals);
+                labels.add(category.name());
+            }
+        }
+        int[] all = new int[index.size()];
+        Arrays.setAll(all, i -> i);
+        rows.add(all);
+        labels.add("ALL");
+
+        for (int row = 0; row < rows.size(); row++) {
+            int[] ordinals = rows.get(row);
+            int count = ordinals.length;
+            System.out.printf("%-16s %6d | %s | %s | %s%n", labels.get(row), count,
+                    formatPercentiles(milestoneHours(unlockHours, ordinals, 1)),
+                    formatPercentiles(milestoneHours(unlockHours, ordinals, (count + 1) / 2)),
+                    formatPercentiles(milestoneHours(unlockHours, ordinals, count)));
+        }
+    }
+
+    private static int[] ordinalsOf(UnlockIndex index, UnlockType category) {
+        int[] ordinals = new int[index.size()];
+        int count = 0;
+        for (int ordinal = 0; ordinal < index.size(); ordinal++) {
+            if (index.getUnlockByOrdinal(ordinal).getCategory() == category) {
+                ordinals[count++] = ordinal;
+            }
+        }
+        return Arrays.copyOf(ordinals, count);
+    }
+
+    /**
+     * @return Per player, the hour at which {@code needed} of the given unlocks were unlocked; +Infinity if never.
+     */
+    private static float[] milestoneHours(float[][] unlockHours, int[] ordinals, int needed) {
+        float[] milestones = new float[unlockHours.length];
+        float[] times = new float[ordinals.length];
+        for (int player = 0; player < unlockHours.length; player++) {
+            for (int i = 0; i < ordinals.length; i++) {
+                float time = unlockHours[player][ordinals[i]];
+                times[i] = Float.isNaN(time) ? Float.POSITIVE_INFINITY : time;
+            }
+            Arrays.sort(times);
+            milestones[player] = times[needed - 1];
+        }
+        Arrays.sort(milestones);
+        return milestones;
+    }
+
+    // '-' marks a percentile of players that never reached the milestone
+    private static String formatPercentiles(float[] sortedHours) {
+        StringBuilder sb = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            if (sb.length() > 0) {
+                sb.append(" / ");
+            }
+            int rank = Math.min(sortedHours.length - 1, (int) Math.floor(percentile * sortedHours.length));
+            float hours = sortedHours[rank];
+            sb.append(Float.isInfinite(hours) ? "-" : String.format("%.1f", hours));
+        }
+        return String.format("%-23s", sb);
+    }
+
+    private static final class SimulatePlayers extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final UnlockIndex index;
+        private final RelicHunterSettings settings;
+        private final TierRoller tierRoller;
+        private final SimulationOptions options;
+        private final float[][] unlockHours;
+        private final int[] relicsFound;
+        private final int from;
+        private final int to;
+
+        SimulatePlayers(UnlockIndex index, RelicHunterSettings settings, TierRoller tierRoller, SimulationOptions options,
+                        float[][] unlockHours, int[] relicsFound, int from, int to) {
+            this.index = index;
+            this.settings = settings;
+            this.tierRoller = tierRoller;
+            this.options = options;
+            this.unlockHours = unlockHours;
+            this.relicsFound = relicsFound;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PLAYERS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new SimulatePlayers(index, settings, tierRoller, options, unlockHours, relicsFound, from, mid),
+                        new SimulatePlayers(index, settings, tierRoller, options, unlockHours, relicsFound, mid, to));
+                return;
+            }
+            for (int player = from; player < to; player++) {
+                // Each player writes only its own slots, so the result arrays need no locking
+                SimulatedPlayer simulated = new SimulatedPlayer(index, settings, tierRoller, options, playerSeed(player));
+                simulated.run();
+                unlockHours[player] = simulated.getUnlockHours();
+                relicsFound[player] = simulated.getRelicsFound();
+            }
+        }
+
+        private long playerSeed(int player) {
+            return options.seed ^ (player * 0x9E3779B97F4A7C15L);
+        }
+    }
+}
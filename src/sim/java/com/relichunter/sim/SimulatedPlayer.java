@@ -0,0 +1,191 @@
+// Filename: RelicHunter/src/sim/java/com/relichunter/sim/SimulatedPlayer.java
+package com.relichunter.sim;
+
+import com.relichunter.AvailabilityTracker;
+import com.relichunter.DropDecision;
+import com.relichunter.RelicDropEngine;
+import com.relichunter.RelicDropRules;
+import com.relichunter.RelicHunterSettings;
+import com.relichunter.RelicInventory;
+import com.relichunter.RelicRandom;
+import com.relichunter.RelicType;
+import com.relichunter.SkillTier;
+import com.relichunter.TierRoller;
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockIndex;
+import net.runelite.api.Skill;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * One synthetic player: a stream of XP drops, kills and clue completions run through the plugin's {@link RelicDropEngine},
+ * with every relic spent as soon as it can unlock something. Confined to one thread.
+ */
+final class SimulatedPlayer {
+
+    private static final RelicType[] RELIC_TYPES = RelicType.values();
+    private static final SkillTier[] RELIC_TIERS = RelicInventory.RELIC_TIERS;
+    // XP drops are spread evenly over the skills that can drop skilling relics
+    private static final Skill[] SKILLS = Arrays.stream(Skill.values())
+            .filter(RelicDropRules::isSkillingRelicSkill)
+            .toArray(Skill[]::new);
+    private static final String[] CLUE_TIERS = {"easy", "medium", "hard", "elite", "master"};
+    // Relative share of completed clues per tier, easy .. master
+    private static final int[] CLUE_TIER_WEIGHTS = {40, 30, 20, 8, 2};
+    private static final int CLUE_TIER_WEIGHT_TOTAL = 100;
+
+    private final UnlockIndex index;
+    private final SimulationOptions options;
+
+    private final RelicDropEngine dropEngine;
+    // Drop rolls and activation choices, from separate streams as in the plugin
+    private final RelicRandom relicRandom;
+    private final SplittableRandom activity;
+
+    private final AvailabilityTracker tracker;
+    private long[] unlocked;
+    private int unlockedCount;
+    // Held relics per RELIC_TYPES x RELIC_TIERS
+    private final int[] heldRelics = new int[RELIC_TYPES.length * RELIC_TIERS.length];
+    private int relicsFound;
+
+    // Hour each unlock ordinal was unlocked at; NaN if never
+    private final float[] unlockHours;
+
+    SimulatedPlayer(UnlockIndex index, RelicHunterSettings settings, TierRoller tierRoller, SimulationOptions options, long seed) {
+        this.index = index;
+        this.options = options;
+        SplittableRandom root = new SplittableRandom(seed);
+        this.tracker = new AvailabilityTracker(index);
+        this.relicRandom = new RelicRandom(root.nextLong());
+        this.dropEngine = new RelicDropEngine(() -> settings, tierRoller, relicRandom, tracker::getAvailableCount);
+        this.activity = root.split();
+        this.unlocked = new long[(index.size() + 63) >>> 6];
+        this.tracker.update(unlocked);
+        this.unlockHours = new float[index.size()];
+        Arrays.fill(unlockHours, Float.NaN);
+    }
+
+    /**
+     * Plays the configured number of hours, or until everything is unlocked.
+     */
+    void run() {
+        double clueCarry = 0;
+        for (int hour = 0; hour < options.hours && unlockedCount < index.size(); hour++) {
+            int xpDrops = options.xpDropsPerHour;
+            int kills = options.killsPerHour;
+            clueCarry += options.cluesPerHour;
+            int clues = (int) clueCarry;
+            clueCarry -= clues;
+
+            int total = xpDrops + kills + clues;
+            for (int event = 0; event < total; event++) {
+                float time = hour + (float) event / total;
+                // Draw without replacement, so each hour has exactly the configured mix in a random order
+                int pick = activity.nextInt(xpDrops + kills + clues);
+                if (pick < xpDrops) {
+                    xpDrops--;
+                    apply(dropEngine.onXpGained(sampleSkill(), sampleXpDrop()), time);
+                } else if (pick < xpDrops + kills) {
+                    kills--;
+                    apply(dropEngine.onNpcKilled(1 + activity.nextInt(options.maxNpcLevel)), time);
+                } else {
+                    clues--;
+                    apply(dropEngine.onClueCompleted(sampleClueTier()), time);
+                }
+            }
+        }
+    }
+
+    float[] getUnlockHours() {
+        return unlockHours;
+    }
+
+    int getRelicsFound() {
+        return relicsFound;
+    }
+
+    private void apply(DropDecision decision, float time) {
+        if (decision.isDropped()) {
+            addRelic(decision.getRelicType(), decision.getTier(), time);
+        }
+    }
+
+    private void addRelic(RelicType type, SkillTier tier, float time) {
+        int tierIndex = tierIndex(tier);
+        if (tierIndex < 0) {
+            return;
+        }
+        relicsFound++;
+        heldRelics[type.ordinal() * RELIC_TIERS.length + tierIndex]++;
+        spendRelics(time);
+    }
+
+    /**
+     * Spends every held relic that can unlock something, repeating while unlocks open up new options.
+     * Each activation offers the same choices the plugin would ({@link RelicDropRules#offerChoices}) and
+     * the player takes the first.
+     */
+    private void spendRelics(float time) {
+        boolean spent;
+        do {
+            spent = false;
+            for (int bucket = 0; bucket < heldRelics.length; bucket++) {
+                if (heldRelics[bucket] == 0) {
+                    continue;
+                }
+                RelicType type = RELIC_TYPES[bucket / RELIC_TIERS.length];
+                SkillTier tier = RELIC_TIERS[bucket % RELIC_TIERS.length];
+                List<UnlockData> choices = RelicDropRules.offerChoices(index, unlocked, type, tier, relicRandom);
+                if (choices.isEmpty()) {
+                    continue;
+                }
+                unlock(index.getOrdinal(choices.get(0).getId()), time);
+                heldRelics[bucket]--;
+                spent = true;
+            }
+        } while (spent);
+    }
+
+    private void unlock(int ordinal, float time) {
+        // The tracker keeps the array it is given, so publish a new one rather than modifying it
+        long[] next = unlocked.clone();
+        next[ordinal >>> 6] |= 1L << ordinal;
+        unlocked = next;
+        tracker.update(next);
+        unlockHours[ordinal] = time;
+        unlockedCount++;
+    }
+
+    // Exponentially distributed around the configured mean, at least 1 XP
+    private int sampleXpDrop() {
+        double xp = -options.meanXpDrop * Math.log(1 - activity.nextDouble());
+        return Math.max(1, (int) Math.ceil(xp));
+    }
+
+    private Skill sampleSkill() {
+        return SKILLS[activity.nextInt(SKILLS.length)];
+    }
+
+    private String sampleClueTier() {
+        int roll = activity.nextInt(CLUE_TIER_WEIGHT_TOTAL);
+        for (int i = 0; i < CLUE_TIERS.length; i++) {
+            roll -= CLUE_TIER_WEIGHTS[i];
+            if (roll < 0) {
+                return CLUE_TIERS[i];
+            }
+        }
+        return CLUE_TIERS[CLUE_TIERS.length - 1];
+    }
+
+    private static int tierIndex(SkillTier tier) {
+        for (int i = 0; i < RELIC_TIERS.length; i++) {
+            if (RELIC_TIERS[i] == tier) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,66 @@
+// Filename: RelicHunter/src/sim/java/com/relichunter/sim/SimulationOptions.java
+package com.relichunter.sim;
+
+import com.relichunter.unlock.UnlockDatabaseVariant;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Command line options of the {@link ProgressionSimulator}, all given as {@code --name=value}.
+ * Options that are not listed here are treated as RelicHunterConfig overrides (see {@link SimulationSettings}).
+ */
+final class SimulationOptions {
+
+    int players = 1000;
+    int hours = 100;
+    long seed = 1L;
+    int threads = Runtime.getRuntime().availableProcessors();
+    UnlockDatabaseVariant database = UnlockDatabaseVariant.P2P;
+
+    // Synthetic activity model: per hour of play
+    int xpDropsPerHour = 1000;
+    double meanXpDrop = 30;
+    int killsPerHour = 200;
+    int maxNpcLevel = 150;
+    double cluesPerHour = 0.5;
+
+    final Map<String, String> configOverrides = new LinkedHashMap<>();
+
+    static SimulationOptions parse(String[] args) {
+        SimulationOptions options = new SimulationOptions();
+        for (String arg : args) {
+            int split = arg.indexOf('=');
+            if (!arg.startsWith("--") || split < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got '" + arg + "'");
+            }
+            String name = arg.substring(2, split);
+            String value = arg.substring(split + 1);
+            switch (name) {
+                case "players":        options.players = positiveInt(name, value); break;
+                case "hours":          options.hours = positiveInt(name, value); break;
+                case "seed":           options.seed = Long.parseLong(value); break;
+                case "threads":        options.threads = positiveInt(name, value); break;
+                case "database":       options.database = UnlockDatabaseVariant.valueOf(value.toUpperCase()); break;
+                case "xpDropsPerHour": options.xpDropsPerHour = Integer.parseInt(value); break;
+                case "meanXpDrop":     options.meanXpDrop = Double.parseDouble(value); break;
+                case "killsPerHour":   options.killsPerHour = Integer.parseInt(value); break;
+                case "maxNpcLevel":    options.maxNpcLevel = positiveInt(name, value); break;
+                case "cluesPerHour":   options.cluesPerHour = Double.parseDouble(value); break;
+                default:               options.configOverrides.put(name, value); break;
+            }
+        }
+        if (options.xpDropsPerHour < 0 || options.killsPerHour < 0 || options.cluesPerHour < 0 || options.meanXpDrop <= 0) {
+            throw new IllegalArgumentException("Activity rates must not be negative and meanXpDrop must be positive");
+        }
+        return options;
+    }
+
+    private static int positiveInt(String name, String value) {
+        int parsed = Integer.parseInt(value);
+        if (parsed <= 0) {
+            throw new IllegalArgumentException(name + " must be positive, got " + value);
+        }
+        return parsed;
+    }
+}
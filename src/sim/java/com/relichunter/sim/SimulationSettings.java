@@ -0,0 +1,99 @@
+// Filename: RelicHunter/src/sim/java/com/relichunter/sim/SimulationSettings.java
+package com.relichunter.sim;
+
+import com.relichunter.RelicHunterConfig;
+import com.relichunter.RelicHunterSettings;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Builds a {@link RelicHunterSettings} snapshot without a ConfigManager: every config item has its default
+ * value unless overridden by name (the config method name, e.g. {@code skillingRelicBaseChance=300}).
+ * Also used by the JMH benchmarks.
+ */
+public final class SimulationSettings {
+
+    private SimulationSettings() {
+    }
+
+    public static RelicHunterSettings create(Map<String, String> overrides) {
+        return RelicHunterSettings.read(config(overrides));
+    }
+
+    /**
+     * Gets a RelicHunterConfig that answers with the overrides or the defaults. Setters are ignored.
+     * @throws IllegalArgumentException For an override that is not a config item.
+     */
+    public static RelicHunterConfig config(Map<String, String> overrides) {
+        for (String key : overrides.keySet()) {
+            if (findConfigItem(key) == null) {
+                throw new IllegalArgumentException("Unknown option or config item '" + key + "'. Config items: " + configItemNames());
+            }
+        }
+        return (RelicHunterConfig) Proxy.newProxyInstance(
+                RelicHunterConfig.class.getClassLoader(),
+                new Class<?>[]{RelicHunterConfig.class},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "equals":   return proxy == args[0];
+                            case "hashCode": return System.identityHashCode(proxy);
+                            default:         return "SimulationConfig" + overrides;
+                        }
+                    }
+                    String override = overrides.get(method.getName());
+                    if (override != null && method.getParameterCount() == 0) {
+                        return parse(method.getReturnType(), method.getName(), override);
+                    }
+                    if (method.isDefault()) {
+                        return MethodHandles.privateLookupIn(RelicHunterConfig.class, MethodHandles.lookup())
+                                .unreflectSpecial(method, RelicHunterConfig.class)
+                                .bindTo(proxy)
+                                .invokeWithArguments(args);
+                    }
+                    // Setters; nothing is stored
+                    return null;
+                });
+    }
+
+    private static Method findConfigItem(String name) {
+        for (Method method : RelicHunterConfig.class.getMethods()) {
+            if (method.getName().equals(name) && method.getParameterCount() == 0 && method.isDefault()) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static TreeSet<String> configItemNames() {
+        TreeSet<String> names = new TreeSet<>();
+        for (Method method : RelicHunterConfig.class.getMethods()) {
+            if (method.getParameterCount() == 0 && method.isDefault()) {
+                names.add(method.getName());
+            }
+        }
+        return names;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(Class<?> type, String name, String value) {
+        try {
+            if (type == int.class) {
+                return Integer.parseInt(value);
+            }
+            if (type == boolean.class) {
+                return Boolean.parseBoolean(value);
+            }
+            if (type.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) type, value.toUpperCase());
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid value '" + value + "' for " + name, e);
+        }
+        throw new IllegalArgumentException("Config item " + name + " of type " + type.getSimpleName() + " cannot be overridden");
+    }
+}
@@ -0,0 +1,149 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/RelicDropEngineTest.java
+package com.relichunter;
+
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class RelicDropEngineTest {
+
+    private static final long SEED = 42L;
+
+    @Test
+    public void ineligibleEventsDoNotRoll() {
+        List<String> queried = new ArrayList<>();
+        RelicDropEngine engine = engine(config -> { }, (type, tier) -> {
+            queried.add(type + " " + tier);
+            return 10;
+        });
+
+        assertIneligible(engine.onXpGained(Skill.ATTACK, 10_000), RelicSource.SKILLING);
+        assertIneligible(engine.onXpGained(Skill.WOODCUTTING, 9), RelicSource.SKILLING);
+        assertIneligible(engine.onNpcKilled(0), RelicSource.COMBAT);
+        assertIneligible(engine.onClueCompleted("beginner"), RelicSource.EXPLORATION);
+        assertTrue("Availability should not be looked up: " + queried, queried.isEmpty());
+    }
+
+    @Test
+    public void nothingLeftToUnlockIsReportedWithTheEligibleTier() {
+        RelicDropEngine engine = engine(config -> doReturn(1).when(config).combatRelicBaseChance(), (type, tier) -> 0);
+
+        DropDecision decision = engine.onNpcKilled(100);
+        assertEquals(DropDecision.Outcome.NO_UNLOCKS_AVAILABLE, decision.getOutcome());
+        assertEquals(SkillTier.MASTER, decision.getMaxTier());
+        assertEquals(0, decision.getRollThreshold());
+        assertFalse(decision.isDropped());
+        assertNull(decision.getTier());
+    }
+
+    @Test
+    public void availabilityIsLookedUpForTheSourceAndMaximumTier() {
+        List<String> queried = new ArrayList<>();
+        RelicDropEngine engine = engine(config -> { }, (type, tier) -> {
+            queried.add(type + " " + tier);
+            return 4;
+        });
+
+        engine.onXpGained(Skill.WOODCUTTING, 75);
+        engine.onNpcKilled(151);
+        engine.onClueCompleted("medium");
+        assertEquals(List.of("SKILLING EXPERT", "COMBAT GRANDMASTER", "EXPLORATION JOURNEYMAN"), queried);
+    }
+
+    @Test
+    public void thresholdOfOneAlwaysDrops() {
+        RelicDropEngine engine = engine(config -> {
+            doReturn(false).when(config).enableScalingDropRate();
+            doReturn(1).when(config).skillingRelicBaseChance();
+            doReturn(1).when(config).explorationRelicBaseChance();
+            // Only Journeyman can be rolled
+            doReturn(0).when(config).apprenticeTierWeight();
+            doReturn(1).when(config).journeymanTierWeight();
+            doReturn(0).when(config).expertTierWeight();
+            doReturn(0).when(config).masterTierWeight();
+            doReturn(0).when(config).grandmasterTierWeight();
+        }, (type, tier) -> 3);
+
+        DropDecision xp = engine.onXpGained(Skill.MINING, 500);
+        assertEquals(DropDecision.Outcome.DROPPED, xp.getOutcome());
+        assertTrue(xp.isDropped());
+        assertEquals(SkillTier.GRANDMASTER, xp.getMaxTier());
+        assertEquals(SkillTier.JOURNEYMAN, xp.getTier());
+        assertEquals(1, xp.getRollThreshold());
+        assertEquals(3, xp.getAvailableUnlocks());
+        assertEquals(RelicType.SKILLING, xp.getRelicType());
+
+        // Clue relics skip the tier roll and always have the clue's tier
+        DropDecision clue = engine.onClueCompleted("elite");
+        assertEquals(DropDecision.Outcome.DROPPED, clue.getOutcome());
+        assertEquals(SkillTier.MASTER, clue.getTier());
+        assertEquals(RelicType.EXPLORATION, clue.getRelicType());
+    }
+
+    @Test
+    public void largeThresholdFailsTheRoll() {
+        RelicDropEngine engine = engine(config -> {
+            doReturn(false).when(config).enableScalingDropRate();
+            doReturn(Integer.MAX_VALUE).when(config).combatRelicBaseChance();
+        }, (type, tier) -> 5);
+
+        for (int i = 0; i < 100; i++) {
+            DropDecision decision = engine.onNpcKilled(30);
+            assertEquals(DropDecision.Outcome.ROLL_FAILED, decision.getOutcome());
+            assertEquals(SkillTier.JOURNEYMAN, decision.getMaxTier());
+            assertEquals(Integer.MAX_VALUE, decision.getRollThreshold());
+            assertNull(decision.getTier());
+        }
+    }
+
+    @Test
+    public void sameSeedGivesTheSameDecisions() {
+        Consumer<RelicHunterConfig> overrides = config -> {
+            doReturn(false).when(config).enableScalingDropRate();
+            doReturn(3).when(config).skillingRelicBaseChance();
+            doReturn(3).when(config).combatRelicBaseChance();
+        };
+        RelicDropEngine first = engine(overrides, (type, tier) -> 7);
+        RelicDropEngine second = engine(overrides, (type, tier) -> 7);
+
+        int dropped = 0;
+        for (int i = 0; i < 500; i++) {
+            DropDecision a = i % 2 == 0 ? first.onXpGained(Skill.FISHING, 40 + i) : first.onNpcKilled(1 + i % 200);
+            DropDecision b = i % 2 == 0 ? second.onXpGained(Skill.FISHING, 40 + i) : second.onNpcKilled(1 + i % 200);
+            assertEquals(a.toString(), b.toString());
+            if (a.isDropped()) {
+                dropped++;
+            }
+        }
+        // 1 in 3 over 500 events: both outcomes must have come up
+        assertTrue(dropped > 0 && dropped < 500);
+    }
+
+    private static void assertIneligible(DropDecision decision, RelicSource source) {
+        assertSame(DropDecision.Outcome.INELIGIBLE, decision.getOutcome());
+        assertEquals(source, decision.getSource());
+        assertNull(decision.getMaxTier());
+        assertEquals(0, decision.getRollThreshold());
+        assertFalse(decision.isDropped());
+    }
+
+    // Settings are the config defaults plus the given overrides
+    private static RelicDropEngine engine(Consumer<RelicHunterConfig> overrides, RelicDropEngine.AvailableUnlocks availableUnlocks) {
+        RelicHunterConfig config = mock(RelicHunterConfig.class, CALLS_REAL_METHODS);
+        overrides.accept(config);
+        RelicHunterSettings settings = RelicHunterSettings.read(config);
+        return new RelicDropEngine(() -> settings, new TierRoller(() -> settings), new RelicRandom(SEED), availableUnlocks);
+    }
+}
@@ -0,0 +1,164 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/RelicDropRulesTest.java
+package com.relichunter;
+
+import com.relichunter.unlock.UnlockData;
+import com.relichunter.unlock.UnlockIndex;
+import com.relichunter.unlock.UnlockType;
+import net.runelite.api.Skill;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class RelicDropRulesTest {
+
+    // Config defaults: min XP 10/30/70/150/300, NPC levels 20/50/90/150, base chances 500/200/10, scaling on
+    private static final RelicHunterSettings DEFAULTS = RelicHunterSettings.read(mock(RelicHunterConfig.class, CALLS_REAL_METHODS));
+
+    @Test
+    public void combatSkillsNeverDropSkillingRelics() {
+        for (Skill skill : new Skill[]{Skill.ATTACK, Skill.STRENGTH, Skill.DEFENCE, Skill.RANGED, Skill.PRAYER,
+                Skill.MAGIC, Skill.HITPOINTS, Skill.OVERALL}) {
+            assertFalse(skill.name(), RelicDropRules.isSkillingRelicSkill(skill));
+        }
+        assertTrue(RelicDropRules.isSkillingRelicSkill(Skill.WOODCUTTING));
+        assertTrue(RelicDropRules.isSkillingRelicSkill(Skill.SLAYER));
+    }
+
+    @Test
+    public void xpDropTierIsTheHighestMinimumReached() {
+        assertNull(RelicDropRules.maxTierForXpDrop(DEFAULTS, 0));
+        assertNull(RelicDropRules.maxTierForXpDrop(DEFAULTS, 9));
+        assertEquals(SkillTier.APPRENTICE, RelicDropRules.maxTierForXpDrop(DEFAULTS, 10));
+        assertEquals(SkillTier.APPRENTICE, RelicDropRules.maxTierForXpDrop(DEFAULTS, 29));
+        assertEquals(SkillTier.JOURNEYMAN, RelicDropRules.maxTierForXpDrop(DEFAULTS, 30));
+        assertEquals(SkillTier.EXPERT, RelicDropRules.maxTierForXpDrop(DEFAULTS, 70));
+        assertEquals(SkillTier.MASTER, RelicDropRules.maxTierForXpDrop(DEFAULTS, 299));
+        assertEquals(SkillTier.GRANDMASTER, RelicDropRules.maxTierForXpDrop(DEFAULTS, 300));
+        assertEquals(SkillTier.GRANDMASTER, RelicDropRules.maxTierForXpDrop(DEFAULTS, 200_000));
+    }
+
+    @Test
+    public void npcTierStartsAboveEachLevelThreshold() {
+        assertNull(RelicDropRules.maxTierForNpcLevel(DEFAULTS, 0));
+        assertNull(RelicDropRules.maxTierForNpcLevel(DEFAULTS, -1));
+        assertEquals(SkillTier.APPRENTICE, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 1));
+        assertEquals(SkillTier.APPRENTICE, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 20));
+        assertEquals(SkillTier.JOURNEYMAN, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 21));
+        assertEquals(SkillTier.JOURNEYMAN, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 50));
+        assertEquals(SkillTier.EXPERT, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 51));
+        assertEquals(SkillTier.MASTER, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 91));
+        assertEquals(SkillTier.MASTER, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 150));
+        assertEquals(SkillTier.GRANDMASTER, RelicDropRules.maxTierForNpcLevel(DEFAULTS, 151));
+    }
+
+    @Test
+    public void clueTiersMapOneToOne() {
+        assertEquals(SkillTier.APPRENTICE, RelicDropRules.relicTierForClue("easy"));
+        assertEquals(SkillTier.JOURNEYMAN, RelicDropRules.relicTierForClue("medium"));
+        assertEquals(SkillTier.EXPERT, RelicDropRules.relicTierForClue("hard"));
+        assertEquals(SkillTier.MASTER, RelicDropRules.relicTierForClue("elite"));
+        assertEquals(SkillTier.GRANDMASTER, RelicDropRules.relicTierForClue("master"));
+        assertNull(RelicDropRules.relicTierForClue("beginner"));
+        assertNull(RelicDropRules.relicTierForClue("Hard"));
+        assertNull(RelicDropRules.relicTierForClue(""));
+    }
+
+    @Test
+    public void nonPositiveBaseChancesFallBackToDefaults() {
+        RelicHunterConfig config = mock(RelicHunterConfig.class, CALLS_REAL_METHODS);
+        doReturn(0).when(config).skillingRelicBaseChance();
+        doReturn(-5).when(config).combatRelicBaseChance();
+        doReturn(0).when(config).explorationRelicBaseChance();
+        RelicHunterSettings settings = RelicHunterSettings.read(config);
+
+        assertEquals(500, RelicDropRules.baseChance(settings, RelicSource.SKILLING));
+        assertEquals(200, RelicDropRules.baseChance(settings, RelicSource.COMBAT));
+        assertEquals(10, RelicDropRules.baseChance(settings, RelicSource.EXPLORATION));
+    }
+
+    @Test
+    public void scalingDividesTheBaseChanceByAvailableUnlocks() {
+        assertEquals(500, RelicDropRules.rollThreshold(DEFAULTS, RelicSource.SKILLING, 1));
+        assertEquals(71, RelicDropRules.rollThreshold(DEFAULTS, RelicSource.SKILLING, 7));
+        assertEquals(2, RelicDropRules.rollThreshold(DEFAULTS, RelicSource.COMBAT, 100));
+        // Never better than 1 in 1
+        assertEquals(1, RelicDropRules.rollThreshold(DEFAULTS, RelicSource.EXPLORATION, 11));
+        assertEquals(1, RelicDropRules.rollThreshold(DEFAULTS, RelicSource.SKILLING, 10_000));
+    }
+
+    @Test
+    public void withoutScalingTheThresholdIsTheBaseChance() {
+        RelicHunterConfig config = mock(RelicHunterConfig.class, CALLS_REAL_METHODS);
+        doReturn(false).when(config).enableScalingDropRate();
+        RelicHunterSettings settings = RelicHunterSettings.read(config);
+
+        assertEquals(500, RelicDropRules.rollThreshold(settings, RelicSource.SKILLING, 1));
+        assertEquals(500, RelicDropRules.rollThreshold(settings, RelicSource.SKILLING, 400));
+        assertEquals(200, RelicDropRules.rollThreshold(settings, RelicSource.COMBAT, 400));
+    }
+
+    @Test
+    public void rollableOrdinalsSkipUnlockedAndUnmetPrerequisites() {
+        UnlockIndex index = UnlockIndex.build(Arrays.asList(
+                unlock("A"),
+                unlock("B", "A"),
+                unlock("C"),
+                unlock("D", "C")));
+        long[] unlocked = index.toUnlockedWords(new HashSet<>(Collections.singletonList("A")));
+        int[] out = new int[4];
+
+        int count = RelicDropRules.collectRollableOrdinals(index, unlocked, RelicType.SKILLING, SkillTier.APPRENTICE, out);
+        // A is unlocked; D still needs C
+        assertArrayEquals(new int[]{1, 2}, Arrays.copyOf(out, count));
+        assertEquals(0, RelicDropRules.collectRollableOrdinals(index, unlocked, RelicType.COMBAT, SkillTier.APPRENTICE, out));
+    }
+
+    @Test
+    public void choicesAreAShuffledSampleOfTheRollableUnlocks() {
+        UnlockIndex index = UnlockIndex.build(Arrays.asList(
+                unlock("A"), unlock("B"), unlock("C"), unlock("D"), unlock("E", "A"), unlock("F")));
+        long[] unlocked = index.toUnlockedWords(new HashSet<>(Collections.singletonList("F")));
+        Set<String> rollable = new HashSet<>(Arrays.asList("A", "B", "C", "D"));
+
+        RelicRandom random = new RelicRandom(7L);
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            List<UnlockData> choices = RelicDropRules.offerChoices(index, unlocked, RelicType.SKILLING, SkillTier.APPRENTICE, random);
+            assertEquals(RelicDropRules.CHOICES_OFFERED, choices.size());
+            assertEquals(RelicDropRules.CHOICES_OFFERED, choices.stream().distinct().count());
+            for (UnlockData choice : choices) {
+                assertTrue(choice.getId(), rollable.contains(choice.getId()));
+            }
+            seen.add(choices.get(0).getId());
+        }
+        assertEquals("every rollable unlock should come first at some point", rollable, seen);
+
+        // Same seed, same choices
+        assertEquals(RelicDropRules.offerChoices(index, unlocked, RelicType.SKILLING, SkillTier.APPRENTICE, new RelicRandom(7L)),
+                RelicDropRules.offerChoices(index, unlocked, RelicType.SKILLING, SkillTier.APPRENTICE, new RelicRandom(7L)));
+        assertTrue(RelicDropRules.offerChoices(index, unlocked, RelicType.COMBAT, SkillTier.APPRENTICE, random).isEmpty());
+    }
+
+    private static UnlockData unlock(String id, String... prerequisites) {
+        UnlockData unlock = new UnlockData();
+        unlock.setId(id);
+        unlock.setCategory(UnlockType.OTHER);
+        unlock.setRelicType(RelicType.SKILLING);
+        unlock.setRequiredTier(SkillTier.APPRENTICE);
+        unlock.setPrerequisites(Arrays.asList(prerequisites));
+        return unlock;
+    }
+}
@@ -0,0 +1,140 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/RelicInventoryTest.java
+package com.relichunter;
+
+import com.google.inject.Guice;
+import net.runelite.client.config.ConfigManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RelicInventoryTest {
+
+    private static final String GROUP = RelicHunterPlugin.CONFIG_GROUP;
+
+    private ConfigManager configManager;
+    private RelicHunterConfig config;
+    private RelicInventory inventory;
+
+    @Before
+    public void setUp() {
+        configManager = mock(ConfigManager.class);
+        config = mock(RelicHunterConfig.class);
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        inventory = Guice.createInjector(binder -> {
+            binder.bind(ConfigManager.class).toInstance(configManager);
+            binder.bind(RelicHunterConfig.class).toInstance(config);
+            binder.bind(ScheduledExecutorService.class).toInstance(executor);
+        }).getInstance(RelicInventory.class);
+    }
+
+    @Test
+    public void serializeRoundTripsThroughApply() {
+        String value = "SKILLING=1,0,3,0,0;COMBAT=0,2,0,0,7;EXPLORATION=0,0,0,12,0";
+        inventory.apply(value);
+
+        assertEquals(1, inventory.getCount(RelicType.SKILLING, SkillTier.APPRENTICE));
+        assertEquals(3, inventory.getCount(RelicType.SKILLING, SkillTier.EXPERT));
+        assertEquals(7, inventory.getCount(RelicType.COMBAT, SkillTier.GRANDMASTER));
+        assertEquals(12, inventory.getCount(RelicType.EXPLORATION, SkillTier.MASTER));
+        assertEquals(value, inventory.serialize());
+    }
+
+    @Test
+    public void applyKeepsWhatItCanParse() {
+        inventory.apply("SKILLING=1,x,3; BOGUS=5,5 ;COMBAT=-4,2,0,0,0,9;garbage;=1");
+
+        assertEquals(1, inventory.getCount(RelicType.SKILLING, SkillTier.APPRENTICE));
+        assertEquals(0, inventory.getCount(RelicType.SKILLING, SkillTier.JOURNEYMAN));
+        assertEquals(3, inventory.getCount(RelicType.SKILLING, SkillTier.EXPERT));
+        // Negative counts are clamped, extra tiers ignored
+        assertEquals(0, inventory.getCount(RelicType.COMBAT, SkillTier.APPRENTICE));
+        assertEquals(2, inventory.getCount(RelicType.COMBAT, SkillTier.JOURNEYMAN));
+        assertEquals("SKILLING=1,0,3,0,0;COMBAT=0,2,0,0,0;EXPLORATION=0,0,0,0,0", inventory.serialize());
+    }
+
+    @Test
+    public void applyReplacesPreviousCounts() {
+        inventory.apply("COMBAT=5,0,0,0,0");
+        inventory.apply("SKILLING=1,0,0,0,0");
+
+        assertEquals(0, inventory.getCount(RelicType.COMBAT, SkillTier.APPRENTICE));
+        assertEquals(1, inventory.getCount(RelicType.SKILLING, SkillTier.APPRENTICE));
+    }
+
+    @Test
+    public void loadUsesTheStoredValueWithoutMigrating() {
+        when(config.relicInventory()).thenReturn("COMBAT=0,0,1,0,0");
+        inventory.load();
+
+        assertEquals(1, inventory.getCount(RelicType.COMBAT, SkillTier.EXPERT));
+        verify(configManager, never()).getConfiguration(anyString(), anyString(), any(java.lang.reflect.Type.class));
+        verify(configManager, never()).unsetConfiguration(anyString(), anyString());
+    }
+
+    @Test
+    public void migrationWritesTheCombinedValueBeforeUnsettingLegacyKeys() {
+        when(config.relicInventory()).thenReturn("");
+        when(configManager.getConfiguration(GROUP, "skillingRelicsApprentice", Integer.class)).thenReturn(2);
+        when(configManager.getConfiguration(GROUP, "combatRelicsMaster", Integer.class)).thenReturn(1);
+        when(configManager.getConfiguration(GROUP, "explorationRelicsGrandmaster", Integer.class)).thenReturn(-3);
+        inventory.load();
+
+        assertEquals(2, inventory.getCount(RelicType.SKILLING, SkillTier.APPRENTICE));
+        assertEquals(1, inventory.getCount(RelicType.COMBAT, SkillTier.MASTER));
+        assertEquals(0, inventory.getCount(RelicType.EXPLORATION, SkillTier.GRANDMASTER));
+
+        String migrated = "SKILLING=2,0,0,0,0;COMBAT=0,0,0,1,0;EXPLORATION=0,0,0,0,0";
+        InOrder order = inOrder(configManager);
+        order.verify(configManager).setConfiguration(GROUP, RelicInventory.CONFIG_KEY, migrated);
+        order.verify(configManager).unsetConfiguration(GROUP, "skillingRelicsApprentice");
+        order.verify(configManager).unsetConfiguration(GROUP, "combatRelicsMaster");
+        order.verify(configManager).unsetConfiguration(GROUP, "explorationRelicsGrandmaster");
+        verify(configManager, never()).unsetConfiguration(GROUP, "skillingRelicsJourneyman");
+
+        // The ConfigChanged event for our own write is not treated as an external edit
+        assertFalse(inventory.onConfigChanged(migrated));
+    }
+
+    @Test
+    public void nothingIsWrittenWithoutLegacyKeys() {
+        when(config.relicInventory()).thenReturn(null);
+        inventory.load();
+
+        verify(configManager, never()).setConfiguration(anyString(), anyString(), any());
+        verify(configManager, never()).unsetConfiguration(anyString(), anyString());
+    }
+
+    @Test
+    public void externalEditsReplaceTheCounts() {
+        inventory.increment(RelicType.SKILLING, SkillTier.APPRENTICE);
+        inventory.persist();
+
+        assertFalse(inventory.onConfigChanged("SKILLING=1,0,0,0,0;COMBAT=0,0,0,0,0;EXPLORATION=0,0,0,0,0"));
+        assertTrue(inventory.onConfigChanged("SKILLING=4,0,0,0,0"));
+        assertEquals(4, inventory.getCount(RelicType.SKILLING, SkillTier.APPRENTICE));
+        assertTrue(inventory.onConfigChanged(null));
+        assertEquals(0, inventory.getCount(RelicType.SKILLING, SkillTier.APPRENTICE));
+    }
+
+    @Test
+    public void decrementStopsAtZero() {
+        inventory.increment(RelicType.COMBAT, SkillTier.EXPERT);
+
+        assertTrue(inventory.decrementIfPositive(RelicType.COMBAT, SkillTier.EXPERT));
+        assertFalse(inventory.decrementIfPositive(RelicType.COMBAT, SkillTier.EXPERT));
+        assertEquals(0, inventory.getCount(RelicType.COMBAT, SkillTier.EXPERT));
+    }
+}
@@ -0,0 +1,134 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/TierRollerTest.java
+package com.relichunter;
+
+import org.junit.Test;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class TierRollerTest {
+
+    private static final SkillTier[] RELIC_TIERS = RelicInventory.RELIC_TIERS;
+    private static final double EPSILON = 1e-12;
+
+    @Test
+    public void probabilityIsWeightOverTotalForEveryCap() {
+        int[] weights = {100, 50, 25, 10, 5};
+        assertProbabilitiesMatch(weights, roller(weights));
+    }
+
+    @Test
+    public void zeroWeightTiersAreNeverRolled() {
+        int[] weights = {3, 0, 9, 0, 1};
+        TierRoller roller = roller(weights);
+        assertProbabilitiesMatch(weights, roller);
+
+        SplittableRandom random = new SplittableRandom(1L);
+        for (int i = 0; i < 10_000; i++) {
+            SkillTier tier = roller.roll(SkillTier.GRANDMASTER, random);
+            assertTrue(tier + " has no weight", tier != SkillTier.JOURNEYMAN && tier != SkillTier.MASTER);
+        }
+    }
+
+    @Test
+    public void singleNonZeroWeightTakesEveryDrop() {
+        int[] weights = {0, 0, 7, 0, 0};
+        TierRoller roller = roller(weights);
+        assertProbabilitiesMatch(weights, roller);
+
+        assertEquals(1.0, roller.getProbability(SkillTier.EXPERT, SkillTier.EXPERT), EPSILON);
+        assertEquals(1.0, roller.getProbability(SkillTier.GRANDMASTER, SkillTier.EXPERT), EPSILON);
+        SplittableRandom random = new SplittableRandom(2L);
+        for (SkillTier cap : new SkillTier[]{SkillTier.EXPERT, SkillTier.MASTER, SkillTier.GRANDMASTER}) {
+            for (int i = 0; i < 1_000; i++) {
+                assertEquals(SkillTier.EXPERT, roller.roll(cap, random));
+            }
+        }
+    }
+
+    @Test
+    public void capWithoutWeightDefaultsToTheCap() {
+        TierRoller roller = roller(new int[]{0, 0, 7, 0, 0});
+        SplittableRandom random = new SplittableRandom(3L);
+
+        // Nothing up to Journeyman has a weight, so there is no distribution to report
+        assertEquals(0, roller.getProbability(SkillTier.JOURNEYMAN, SkillTier.APPRENTICE), EPSILON);
+        assertEquals(0, roller.getProbability(SkillTier.JOURNEYMAN, SkillTier.JOURNEYMAN), EPSILON);
+        assertEquals(SkillTier.JOURNEYMAN, roller.roll(SkillTier.JOURNEYMAN, random));
+    }
+
+    @Test
+    public void lockedAndOutOfRangeTiersHaveNoProbability() {
+        TierRoller roller = roller(new int[]{100, 50, 25, 10, 5});
+
+        assertNull(roller.roll(SkillTier.LOCKED, new SplittableRandom(4L)));
+        assertNull(roller.roll(null, new SplittableRandom(4L)));
+        assertEquals(0, roller.getProbability(SkillTier.LOCKED, SkillTier.APPRENTICE), EPSILON);
+        assertEquals(0, roller.getProbability(SkillTier.GRANDMASTER, SkillTier.LOCKED), EPSILON);
+        assertEquals(0, roller.getProbability(SkillTier.EXPERT, SkillTier.MASTER), EPSILON);
+        assertEquals(0, roller.getProbability(null, SkillTier.APPRENTICE), EPSILON);
+    }
+
+    @Test
+    public void rollFrequenciesFollowTheProbabilities() {
+        TierRoller roller = roller(new int[]{100, 50, 25, 10, 5});
+        SplittableRandom random = new SplittableRandom(5L);
+        int rolls = 200_000;
+        int[] counts = new int[SkillTier.values().length];
+        for (int i = 0; i < rolls; i++) {
+            counts[roller.roll(SkillTier.MASTER, random).ordinal()]++;
+        }
+        for (SkillTier tier : RELIC_TIERS) {
+            double expected = roller.getProbability(SkillTier.MASTER, tier);
+            assertEquals(tier.name(), expected, (double) counts[tier.ordinal()] / rolls, 0.005);
+        }
+    }
+
+    @Test
+    public void changedWeightsAreUsedOnTheNextCall() {
+        AtomicReference<RelicHunterSettings> settings = new AtomicReference<>(settings(new int[]{1, 1, 0, 0, 0}));
+        TierRoller roller = new TierRoller(settings::get);
+        assertEquals(0.5, roller.getProbability(SkillTier.JOURNEYMAN, SkillTier.APPRENTICE), EPSILON);
+
+        settings.set(settings(new int[]{1, 3, 0, 0, 0}));
+        assertEquals(0.25, roller.getProbability(SkillTier.JOURNEYMAN, SkillTier.APPRENTICE), EPSILON);
+    }
+
+    private static void assertProbabilitiesMatch(int[] weights, TierRoller roller) {
+        int total = 0;
+        for (int cap = 0; cap < RELIC_TIERS.length; cap++) {
+            total += weights[cap];
+            double sum = 0;
+            for (int t = 0; t < RELIC_TIERS.length; t++) {
+                double expected = t <= cap && total > 0 ? (double) weights[t] / total : 0;
+                double actual = roller.getProbability(RELIC_TIERS[cap], RELIC_TIERS[t]);
+                assertEquals(RELIC_TIERS[t] + " capped at " + RELIC_TIERS[cap], expected, actual, EPSILON);
+                sum += actual;
+            }
+            assertEquals(total > 0 ? 1.0 : 0.0, sum, EPSILON);
+        }
+    }
+
+    private static TierRoller roller(int[] weights) {
+        RelicHunterSettings settings = settings(weights);
+        return new TierRoller(() -> settings);
+    }
+
+    // Apprentice to Grandmaster; every other setting keeps its config default
+    private static RelicHunterSettings settings(int[] weights) {
+        RelicHunterConfig config = mock(RelicHunterConfig.class, CALLS_REAL_METHODS);
+        doReturn(weights[0]).when(config).apprenticeTierWeight();
+        doReturn(weights[1]).when(config).journeymanTierWeight();
+        doReturn(weights[2]).when(config).expertTierWeight();
+        doReturn(weights[3]).when(config).masterTierWeight();
+        doReturn(weights[4]).when(config).grandmasterTierWeight();
+        return RelicHunterSettings.read(config);
+    }
+}
@@ -0,0 +1,134 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/unlock/PrerequisiteGraphTest.java
+package com.relichunter.unlock;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PrerequisiteGraphTest {
+
+    @Test
+    public void chainIsOrderedPrerequisitesFirst() {
+        // Listed dependents first, so load order is not already a valid order
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Arrays.asList(
+                unlock("C", "B"),
+                unlock("B", "A"),
+                unlock("A"),
+                unlock("D", "A", "C")));
+
+        assertTrue(graph.isAcyclic());
+        assertEquals(0, graph.getBlockedOrdinals().length);
+        assertEquals(4, graph.getTopologicalOrder().length);
+        assertPrerequisitesComeFirst(graph);
+        // A -> B -> C -> D
+        assertEquals(3, graph.getMaxDepth());
+        assertEquals(4, graph.getEdgeCount());
+        assertArrayEquals(new int[]{1, 3}, graph.getDependents(2));
+    }
+
+    @Test
+    public void duplicateAndNullPrerequisitesAreIgnored() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Arrays.asList(
+                unlock("A"),
+                unlock("B", "A", "A", null)));
+
+        assertArrayEquals(new int[]{0}, graph.getPrerequisites(1));
+        assertEquals(1, graph.getEdgeCount());
+    }
+
+    @Test
+    public void selfLoopIsCyclic() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Arrays.asList(
+                unlock("A", "A"),
+                unlock("B")));
+
+        assertFalse(graph.isAcyclic());
+        assertArrayEquals(new int[]{0}, graph.getCyclicOrdinals());
+        assertArrayEquals(new int[]{1}, graph.getTopologicalOrder());
+    }
+
+    @Test
+    public void cycleMembersAreCyclicAndTheirDependentsBlocked() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Arrays.asList(
+                unlock("ROOT"),
+                unlock("X", "ROOT", "Z"),
+                unlock("Y", "X"),
+                unlock("Z", "Y"),
+                unlock("AFTER_CYCLE", "Z"),
+                unlock("INDEPENDENT", "ROOT")));
+
+        assertFalse(graph.isAcyclic());
+        assertArrayEquals(new int[]{1, 2, 3}, graph.getCyclicOrdinals());
+        assertArrayEquals(new int[]{4}, graph.getBlockedOrdinals());
+        assertEquals(2, graph.getTopologicalOrder().length);
+        assertPrerequisitesComeFirst(graph);
+    }
+
+    @Test
+    public void chainBetweenTwoCyclesIsCyclic() {
+        // Cycle P <-> Q, then LINK, then cycle R <-> S: LINK cannot be peeled off because R depends on it
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Arrays.asList(
+                unlock("P", "Q"),
+                unlock("Q", "P"),
+                unlock("LINK", "Q"),
+                unlock("R", "LINK", "S"),
+                unlock("S", "R")));
+
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, graph.getCyclicOrdinals());
+        assertEquals(0, graph.getBlockedOrdinals().length);
+        assertEquals(0, graph.getTopologicalOrder().length);
+    }
+
+    @Test
+    public void danglingPrerequisitesBecomeExternalNodes() {
+        PrerequisiteGraph graph = PrerequisiteGraph.build(Arrays.asList(
+                unlock("A", "MISSING"),
+                unlock("B", "MISSING", "A"),
+                unlock("C", "OTHER_MISSING")));
+
+        assertEquals(Arrays.asList("A -> MISSING", "B -> MISSING", "C -> OTHER_MISSING"), graph.getDanglingReferences());
+        assertEquals(3, graph.getUnlockCount());
+        assertEquals(5, graph.getNodeCount());
+        int missing = graph.getOrdinalsById().get("MISSING");
+        assertEquals(3, missing);
+        assertEquals("MISSING", graph.getId(missing));
+        assertArrayEquals(new int[]{0, 1}, graph.getDependents(missing));
+        // External nodes count as satisfiable, so they do not block ordering
+        assertTrue(graph.isAcyclic());
+        assertEquals(3, graph.getTopologicalOrder().length);
+        assertPrerequisitesComeFirst(graph);
+    }
+
+    private static void assertPrerequisitesComeFirst(PrerequisiteGraph graph) {
+        int[] order = graph.getTopologicalOrder();
+        int[] position = new int[graph.getUnlockCount()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+        }
+        for (int ordinal : order) {
+            for (int prerequisite : graph.getPrerequisites(ordinal)) {
+                if (prerequisite < graph.getUnlockCount()) {
+                    assertTrue(graph.getId(prerequisite) + " must come before " + graph.getId(ordinal),
+                            position[prerequisite] >= 0 && position[prerequisite] < position[ordinal]);
+                }
+            }
+        }
+    }
+
+    private static UnlockData unlock(String id, String... prerequisites) {
+        UnlockData unlock = new UnlockData();
+        unlock.setId(id);
+        List<String> prerequisiteIds = new ArrayList<>(Arrays.asList(prerequisites));
+        unlock.setPrerequisites(prerequisites.length == 0 ? Collections.emptyList() : prerequisiteIds);
+        return unlock;
+    }
+}
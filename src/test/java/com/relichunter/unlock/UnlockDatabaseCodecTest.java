@@ -0,0 +1,144 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/unlock/UnlockDatabaseCodecTest.java
+package com.relichunter.unlock;
+
+import com.relichunter.RelicType;
+import com.relichunter.SkillTier;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class UnlockDatabaseCodecTest {
+
+    // Offset of the version byte, after the 4-byte magic
+    private static final int VERSION_OFFSET = 4;
+
+    @Test
+    public void roundTripPreservesEveryField() throws IOException {
+        UnlockData gear = unlock("GEAR_MELEE_MITHRIL", UnlockType.GEAR_TIER, RelicType.COMBAT, SkillTier.APPRENTICE, true);
+        gear.setPrerequisites(Collections.singletonList("GEAR_MELEE_STEEL"));
+        gear.setItemIds(new LinkedHashSet<>(Arrays.asList(1329, 1209, 1299, 70_000)));
+
+        UnlockData quest = unlock("QUEST_COOKS_ASSISTANT", UnlockType.QUEST, RelicType.EXPLORATION, SkillTier.JOURNEYMAN, false);
+        quest.setQuestId(1);
+        quest.setAreaDefinition("region:12850");
+        quest.setDescription("Unicode \u00e9\u2605");
+
+        UnlockData minimal = unlock("OTHER_THING", UnlockType.OTHER, RelicType.SKILLING, SkillTier.GRANDMASTER, null);
+        minimal.setPrerequisites(null);
+        minimal.setName(null);
+
+        UnlockDatabaseRoot root = root(gear, quest, minimal);
+        UnlockDatabaseRoot decoded = UnlockDatabaseCodec.decode(ByteBuffer.wrap(UnlockDatabaseCodec.encode(root)));
+
+        assertEquals(root, decoded);
+        assertNull(decoded.getUnlocks().get(2).getPrerequisites());
+        assertNull(decoded.getUnlocks().get(2).getMembers());
+    }
+
+    @Test
+    public void prerequisiteIdsShareTheUnlockIdInstances() throws IOException {
+        UnlockData steel = unlock("GEAR_MELEE_STEEL", UnlockType.GEAR_TIER, RelicType.COMBAT, SkillTier.APPRENTICE, true);
+        UnlockData mithril = unlock("GEAR_MELEE_MITHRIL", UnlockType.GEAR_TIER, RelicType.COMBAT, SkillTier.APPRENTICE, true);
+        mithril.setPrerequisites(Collections.singletonList("GEAR_MELEE_STEEL"));
+
+        List<UnlockData> decoded = UnlockDatabaseCodec.decode(ByteBuffer.wrap(UnlockDatabaseCodec.encode(root(steel, mithril)))).getUnlocks();
+        assertSame(decoded.get(0).getId(), decoded.get(1).getPrerequisites().get(0));
+    }
+
+    @Test
+    public void nullEntriesAreDropped() throws IOException {
+        UnlockData unlock = unlock("AREA_KARAMJA", UnlockType.AREA, RelicType.EXPLORATION, SkillTier.EXPERT, true);
+        UnlockDatabaseRoot root = new UnlockDatabaseRoot();
+        root.setUnlocks(Arrays.asList(null, unlock, null));
+
+        assertEquals(Collections.singletonList(unlock),
+                UnlockDatabaseCodec.decode(ByteBuffer.wrap(UnlockDatabaseCodec.encode(root))).getUnlocks());
+    }
+
+    @Test
+    public void membersIsStoredInVersionTwoAsItsOwnByte() throws IOException {
+        byte[] encoded = UnlockDatabaseCodec.encode(root(unlock("A", UnlockType.OTHER, RelicType.SKILLING, SkillTier.APPRENTICE, true)));
+        assertEquals(2, encoded[VERSION_OFFSET]);
+        // members is the last field of an unlock: 0 = null, 1 = false, 2 = true
+        assertEquals(2, encoded[encoded.length - 1]);
+
+        encoded[encoded.length - 1] = 1;
+        assertEquals(Boolean.FALSE, UnlockDatabaseCodec.decode(ByteBuffer.wrap(encoded)).getUnlocks().get(0).getMembers());
+        encoded[encoded.length - 1] = 0;
+        assertNull(UnlockDatabaseCodec.decode(ByteBuffer.wrap(encoded)).getUnlocks().get(0).getMembers());
+    }
+
+    @Test
+    public void otherVersionsAreRejected() {
+        byte[] encoded = UnlockDatabaseCodec.encode(root(unlock("A", UnlockType.OTHER, RelicType.SKILLING, SkillTier.APPRENTICE, true)));
+        for (int version : new int[]{0, 1, 3, 255}) {
+            encoded[VERSION_OFFSET] = (byte) version;
+            assertRejected(encoded);
+        }
+    }
+
+    @Test
+    public void wrongMagicIsRejected() {
+        byte[] encoded = UnlockDatabaseCodec.encode(root(unlock("A", UnlockType.OTHER, RelicType.SKILLING, SkillTier.APPRENTICE, true)));
+        encoded[0] ^= 0x7F;
+        assertRejected(encoded);
+    }
+
+    @Test
+    public void truncatedInputIsRejected() {
+        UnlockData unlock = unlock("GEAR_MELEE_RUNE", UnlockType.GEAR_TIER, RelicType.COMBAT, SkillTier.EXPERT, true);
+        unlock.setItemIds(new LinkedHashSet<>(Arrays.asList(1333, 1127)));
+        byte[] encoded = UnlockDatabaseCodec.encode(root(unlock));
+        for (int length = 0; length < encoded.length; length++) {
+            assertRejected(Arrays.copyOf(encoded, length));
+        }
+    }
+
+    @Test
+    public void unknownEnumNameIsRejected() {
+        byte[] encoded = UnlockDatabaseCodec.encode(root(unlock("A", UnlockType.OTHER, RelicType.SKILLING, SkillTier.APPRENTICE, true)));
+        // Rename "SKILLING" in the string table to a constant that does not exist
+        String encodedText = new String(encoded, StandardCharsets.ISO_8859_1);
+        int index = encodedText.indexOf("SKILLING");
+        encoded[index] = 'X';
+        assertRejected(encoded);
+    }
+
+    private static void assertRejected(byte[] encoded) {
+        try {
+            UnlockDatabaseCodec.decode(ByteBuffer.wrap(encoded));
+            fail("Decoding " + encoded.length + " bytes should have failed");
+        } catch (IOException expected) {
+            // The plugin falls back to the JSON source on IOException
+        }
+    }
+
+    private static UnlockDatabaseRoot root(UnlockData... unlocks) {
+        UnlockDatabaseRoot root = new UnlockDatabaseRoot();
+        root.setUnlocks(Arrays.asList(unlocks));
+        return root;
+    }
+
+    private static UnlockData unlock(String id, UnlockType category, RelicType relicType, SkillTier tier, Boolean members) {
+        UnlockData unlock = new UnlockData();
+        unlock.setId(id);
+        unlock.setName(id.toLowerCase());
+        unlock.setDescription("Description of " + id);
+        unlock.setCategory(category);
+        unlock.setRelicType(relicType);
+        unlock.setRequiredTier(tier);
+        unlock.setMembers(members);
+        return unlock;
+    }
+}
@@ -0,0 +1,70 @@
+// Filename: RelicHunter/src/test/java/com/relichunter/util/IntIntHashMapTest.java
+package com.relichunter.util;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+public class IntIntHashMapTest {
+
+    private static final int MISSING = -1;
+
+    @Test
+    public void missingKeysReturnTheMissingValue() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        assertEquals(MISSING, map.get(42));
+        map.put(42, 7);
+        assertEquals(MISSING, map.get(43));
+        // The reserved empty marker is never a stored key
+        assertEquals(MISSING, map.get(Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void putReplacesExistingValue() {
+        IntIntHashMap map = new IntIntHashMap(4, MISSING);
+        map.put(5, 1);
+        map.put(5, 2);
+        assertEquals(2, map.get(5));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void collidingKeysAreAllKept() {
+        // Sized for 2 entries: a 4-slot table, so most of these keys share a home slot and have to probe
+        IntIntHashMap map = new IntIntHashMap(2, MISSING);
+        int[] keys = {0, 4, 8, 16, 32, 64, -4, Integer.MAX_VALUE};
+        for (int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(i, map.get(keys[i]));
+        }
+        assertEquals(keys.length, map.size());
+    }
+
+    @Test
+    public void growsPastTheExpectedSize() {
+        IntIntHashMap map = new IntIntHashMap(2, MISSING);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int key = 0; key < 10_000; key += 3) {
+            map.put(key, key * 2);
+            expected.put(key, key * 2);
+        }
+        assertEquals(expected.size(), map.size());
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals(expected.getOrDefault(key, MISSING).intValue(), map.get(key));
+        }
+
+        Map<Integer, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void reservedKeyIsRejected() {
+        new IntIntHashMap(2, MISSING).put(Integer.MIN_VALUE, 1);
+    }
+}